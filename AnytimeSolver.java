@@ -0,0 +1,359 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This is a Rubik's Cube solver object that runs Anytime Repairing A*
+* (ARA*). It finds a first solution quickly with a weighted A* search, ordering
+* cubes by the number of turns made plus a large weight times the distance, and
+* then lowers the weight and searches again to find shorter solutions, until the
+* weight reaches 1 (plain A*) and the solution is proven optimal, or the search
+* hits one of its limits.
+*
+* Each search picks up where the last one stopped instead of starting over. Every
+* state reached is kept with the fewest turns it was reached in. A state reached
+* in fewer turns after it was expanded in the current search is not expanded again
+* there, but set aside (the INCONS list), and the next search starts from the nodes
+* still waiting plus the ones set aside, reordered by the new weight. Each search
+* at weight w finds a solution at most w times as long as the shortest, and each
+* improvement is passed to a SolutionListener as soon as its search ends.
+***********************************************************************************/
+
+import java.util.Arrays;
+
+public class AnytimeSolver {
+
+	// Constants
+
+	public static final double DEFAULT_INITIAL_WEIGHT = 3.0;
+	public static final long DEFAULT_TIME_LIMIT_MILLIS = 10000;
+
+	// How much the weight is lowered after each search
+	public static final double WEIGHT_DECREMENT = 0.5;
+
+	private static final int NONE = NodeStore.NONE;
+	private static final int INITIAL_INCONS_CAPACITY = 1 << 10;
+
+	// The columns of the StateIndex
+	private static final int REACHED_AT  = 0;	// the node reached in the fewest turns
+	private static final int EXPANDED_IN = 1;	// the last search that expanded it
+	private static final int NUM_COLUMNS = 2;
+
+
+	// Instance variables
+
+	/**
+	 * The DistanceHeuristic providing the definition of distance on cubes for this
+	 * solver
+	 */
+	private DistanceHeuristic distanceHeuristic;
+
+	/**
+	 * The settings this solver runs with, and the listener told of each solution
+	 * (or null)
+	 */
+	private SolverOptions options;
+	private SolutionListener listener;
+
+	/**
+	 * Every node reached, the nodes waiting to be expanded in the current search,
+	 * and the nodes set aside for the next search
+	 */
+	private NodeStore nodes = new NodeStore();
+	private OpenList open = new HeapOpenList();
+	private int[] incons = new int[INITIAL_INCONS_CAPACITY];
+	private int inconsSize;
+
+	/**
+	 * Every state reached, with the node it was reached at in the fewest turns and
+	 * the last search that expanded it (or NONE)
+	 */
+	private StateIndex index = new StateIndex(NUM_COLUMNS);
+
+	/**
+	 * The weight on the distance in the current search, and the number of that
+	 * search (counting from 1)
+	 */
+	private double weight;
+	private int search;
+
+	/**
+	 * The node at which the solved cube was reached in the fewest turns, or NONE
+	 */
+	private int goal = NONE;
+
+	/**
+	 * The time, node and memory limits the search is checked against, and whether
+	 * it was cut off
+	 */
+	private SearchLimits limits;
+	private boolean cutOff;
+
+	/**
+	 * The number of cubes whose neighbors were searched, over every search
+	 */
+	private long nodesExpanded;
+
+	/**
+	 * The best solution found (or null), as a comma-separated list of turns, and
+	 * the bound on how far it may be from optimal
+	 */
+	private String solveAlgorithm;
+	private int solutionLength = Integer.MAX_VALUE;
+	private double suboptimality = Double.POSITIVE_INFINITY;
+
+
+	// Constructors
+
+	/**
+	 * Initializes an AnytimeSolver, and solves the given Cube using the given
+	 * DistanceHeuristic, starting at DEFAULT_INITIAL_WEIGHT and giving up after
+	 * DEFAULT_TIME_LIMIT_MILLIS. Each solution found is passed to the given
+	 * listener, which may be null.
+	 */
+	public AnytimeSolver(Cube cube, DistanceHeuristic distanceHeuristic, SolutionListener listener) {
+		this(cube, distanceHeuristic, defaultOptions(), listener);
+	}
+
+	/**
+	 * Initializes an AnytimeSolver, and solves the given Cube using the given
+	 * DistanceHeuristic. The weight in the settings is the weight of the first
+	 * search, and the search stops at the time, node and memory limits in the
+	 * settings (the other settings are not used). Each solution found is passed to
+	 * the given listener, which may be null. Throws an error if the Cube is invalid.
+	 */
+	public AnytimeSolver(Cube cube, DistanceHeuristic distanceHeuristic, SolverOptions options,
+		SolutionListener listener) {
+		if (cube == null || distanceHeuristic == null || options == null)
+			throw new NullPointerException("Arguments are null");
+
+		this.distanceHeuristic = distanceHeuristic;
+		this.options 		   = options;
+		this.listener 		   = listener;
+		this.weight 		   = options.getWeight();
+		this.limits 		   = new SearchLimits(options);
+		this.search 		   = 1;
+
+		reach(new Cube(cube), NONE, NONE, CanonicalMoves.START);
+		while (true) {
+			improvePath();
+			if (goal == NONE) break;
+			if (cutOff) {
+				// A solution found before the cut off is no worse than the last one
+				if (nodes.getDepth(goal) < solutionLength) publish(suboptimality);
+				break;
+			}
+
+			// Lower the weight, and bound the solution by the smallest turns made
+			// + distance of any node still to be searched
+			double lastWeight = weight;
+			weight = Math.max(1.0, weight - WEIGHT_DECREMENT);
+			search++;
+			int lowerBound = reorder();
+			int length = nodes.getDepth(goal);
+			double bound = (lowerBound >= length) ? 1.0
+				: Math.max(1.0, Math.min(lastWeight, (double) length / lowerBound));
+			if (length < solutionLength || bound < suboptimality) publish(bound);
+			if (bound == 1.0) break;
+		}
+	}
+
+
+	// Helper methods
+
+	/**
+	 * Returns the default settings of an AnytimeSolver
+	 */
+	private static SolverOptions defaultOptions() {
+		SolverOptions options = new SolverOptions();
+		options.setWeight(DEFAULT_INITIAL_WEIGHT);
+		options.setTimeLimitMillis(DEFAULT_TIME_LIMIT_MILLIS);
+		return options;
+	}
+
+	/**
+	 * Returns the priority of the given node at the current weight
+	 */
+	private double priority(int node) {
+		return nodes.getDepth(node) + weight * nodes.getDistance(node);
+	}
+
+	/**
+	 * Records that the given Cube was reached from the given node with the given
+	 * move, unless it was already reached in as few turns. The new node waits in
+	 * the open list, or is set aside if its state was expanded in this search.
+	 */
+	private void reach(Cube cube, int parent, int move, int sequenceState) {
+		int depth = (parent == NONE) ? 0 : nodes.getDepth(parent) + 1;
+		int entry = index.entryOf(cube);
+		int previous = index.get(REACHED_AT, entry);
+		if (previous != NONE && nodes.getDepth(previous) <= depth) return;
+
+		int distance = (previous != NONE) ? nodes.getDistance(previous) : distanceHeuristic.distance(cube);
+		int node = nodes.add(cube, parent, move, distance, sequenceState);
+		index.set(REACHED_AT, entry, node);
+		if (cube.isSolved()) goal = node;
+
+		if (index.get(EXPANDED_IN, entry) == search) {
+			if (inconsSize == incons.length) incons = Arrays.copyOf(incons, 2 * incons.length);
+			incons[inconsSize++] = node;
+		} else {
+			open.insert(node, priority(node), distance);
+		}
+	}
+
+	/**
+	 * Expands nodes in order of priority until none waiting has a smaller priority
+	 * than the solved cube, or the search hits one of its limits
+	 */
+	private void improvePath() {
+		while (!open.isEmpty()) {
+			int node = open.delMin();
+			Cube workingCube = nodes.cube(node);
+			int entry = index.entryOf(workingCube);
+			if (index.get(REACHED_AT, entry) != node) continue;	// reached in fewer turns since
+
+			if (goal != NONE && priority(node) >= priority(goal)) {
+				open.insert(node, priority(node), nodes.getDistance(node));
+				return;
+			}
+			if (limits.check(nodesExpanded, nodes, open) != SearchLimits.WITHIN_LIMITS) {
+				open.insert(node, priority(node), nodes.getDistance(node));
+				cutOff = true;
+				return;
+			}
+
+			nodesExpanded++;
+			index.set(EXPANDED_IN, entry, search);
+			for (int move : Side.QUARTER_TURNS) {
+				// Never make a redundant sequence of moves
+				int sequenceState = CanonicalMoves.next(nodes.getSequenceState(node), move);
+				if (sequenceState == CanonicalMoves.REDUNDANT) continue;
+
+				workingCube.turnInPlace(move);
+				reach(workingCube, node, move, sequenceState);
+				workingCube.turnInPlace(Side.inverse(move));
+			}
+		}
+	}
+
+	/**
+	 * Moves the nodes waiting and the nodes set aside into a new open list ordered
+	 * by the current weight, dropping nodes whose state was since reached in fewer
+	 * turns. Returns the smallest turns made + distance of the nodes moved, or
+	 * Integer.MAX_VALUE if there are none.
+	 */
+	private int reorder() {
+		OpenList reordered = new HeapOpenList();
+		int lowerBound = Integer.MAX_VALUE;
+		while (!open.isEmpty()) {
+			lowerBound = requeue(reordered, open.delMin(), lowerBound);
+		}
+		for (int i = 0; i < inconsSize; i++) {
+			lowerBound = requeue(reordered, incons[i], lowerBound);
+		}
+		inconsSize = 0;
+		this.open = reordered;
+		return lowerBound;
+	}
+
+	/**
+	 * Inserts the given node into the given open list unless its state was since
+	 * reached in fewer turns. Returns the smaller of the given bound and the node's
+	 * turns made + distance.
+	 */
+	private int requeue(OpenList openList, int node, int lowerBound) {
+		Cube cube = nodes.cube(node);
+		if (index.get(REACHED_AT, index.entryOf(cube)) != node) return lowerBound;
+		openList.insert(node, priority(node), nodes.getDistance(node));
+		return Math.min(lowerBound, nodes.getDepth(node) + nodes.getDistance(node));
+	}
+
+	/**
+	 * Makes the path to the solved cube the solution, with the given bound, and
+	 * passes it to the listener
+	 */
+	private void publish(double bound) {
+		this.solveAlgorithm = Side.movesToString(nodes.path(goal));
+		this.solutionLength = nodes.getDepth(goal);
+		this.suboptimality 	= bound;
+		if (listener != null) listener.solutionFound(solveAlgorithm, suboptimality);
+	}
+
+
+	// Getters
+
+	/**
+	 * Returns the shortest algorithm found for solving the cube as a string of
+	 * moves in standard cube notation, or null if none was found
+	 */
+	public String getSolveAlgorithm() {
+		return solveAlgorithm;
+	}
+
+	/**
+	 * Returns the bound on how far the solution may be from optimal: it is at most
+	 * this many times as long as the shortest solution (infinite if no solution
+	 * was found, or nothing was proven before the search was cut off)
+	 */
+	public double getSuboptimality() {
+		return suboptimality;
+	}
+
+	/**
+	 * Returns true if the solution is proven optimal (given an admissible
+	 * distance)
+	 */
+	public boolean isOptimal() {
+		return suboptimality == 1.0;
+	}
+
+	/**
+	 * Returns true if the search stopped because it hit one of its limits
+	 */
+	public boolean isCutOff() {
+		return cutOff;
+	}
+
+	/**
+	 * Returns the number of cubes whose neighbors were searched, over every search
+	 */
+	public long getNodesExpanded() {
+		return nodesExpanded;
+	}
+
+
+	// Client
+
+	/**
+	 * A client program that solves the cube from the filename and the name of the
+	 * distanceHeuristic passed as arguments, printing each solution as it is found.
+	 * The initial weight and the time limit in milliseconds may follow.
+	 */
+	public static void main(String[] args) {
+		String filename = args[0];
+		String distanceHeuristicName = args[1];
+
+		SolverOptions options = defaultOptions();
+		if (args.length > 2) options.setWeight(Double.parseDouble(args[2]));
+		if (args.length > 3) options.setTimeLimitMillis(Long.parseLong(args[3]));
+
+		DistanceHeuristic distanceHeuristic = null;
+		try {
+			distanceHeuristic = (DistanceHeuristic) Class.forName(distanceHeuristicName)
+				.getConstructor()
+				.newInstance();
+		} catch (Exception e) {
+			System.out.println(e);
+		}
+		Cube cube = new Cube(filename);
+		System.out.println("Solving cube.....");
+		AnytimeSolver solver = new AnytimeSolver(cube, distanceHeuristic, options,
+			new SolutionListener() {
+				public void solutionFound(String solveAlgorithm, double suboptimality) {
+					System.out.println("Solution (within " + suboptimality + "x optimal): "
+						+ solveAlgorithm);
+				}
+			});
+		if (solver.isOptimal()) System.out.println("Solution is optimal");
+	}
+}
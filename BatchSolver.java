@@ -0,0 +1,239 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This is a program that solves many cubes in one run, so that the
+* start-up of the JVM and the loading of the DistanceHeuristic (which can mean
+* reading a pattern database of tens of megabytes) are paid once per batch instead
+* of once per cube. The cube files are given as a directory (every file in it) or
+* a manifest (a file listing one cube file per line). They are solved with
+* CubeSolver on a fixed pool of threads sharing one DistanceHeuristic, which must
+* therefore be safe to call concurrently (every heuristic in this project is).
+*
+* A line is written for each cube as soon as it is solved, so the order of the
+* lines depends on how long each solve took. Each line holds, separated by tabs:
+* the cube file, the solution, its length in turns, the number of cubes expanded,
+* and the time taken in milliseconds. A cube file that cannot be read or solved
+* gets a line with the file and the error instead.
+***********************************************************************************/
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import edu.princeton.cs.algs4.In;
+
+public class BatchSolver {
+
+	// Constants
+
+	// Cubes handed to the pool per thread before waiting for one to finish
+	private static final int TASKS_PER_THREAD = 2;
+
+	private static final String SEPARATOR = "\t";
+
+
+	// Instance variables
+
+	/**
+	 * The DistanceHeuristic shared by every solve
+	 */
+	private DistanceHeuristic distanceHeuristic;
+
+	/**
+	 * The settings every solve runs with
+	 */
+	private SolverOptions options;
+
+	/**
+	 * The number of threads solving cubes
+	 */
+	private int numThreads;
+
+
+	// Helper classes
+
+	/**
+	 * A line of output, and whether it reports an error
+	 */
+	private class Line {
+		private String text;
+		private boolean isError;
+
+		private Line(String text, boolean isError) {
+			this.text = text;
+			this.isError = isError;
+		}
+	}
+
+	/**
+	 * A task that solves the cube in one file and returns its line of output
+	 */
+	private class SolveTask implements Callable<Line> {
+		private String filename;
+
+		private SolveTask(String filename) {
+			this.filename = filename;
+		}
+
+		public Line call() {
+			try {
+				long start = System.nanoTime();
+				CubeSolver solver = new CubeSolver(new Cube(filename), distanceHeuristic, options);
+				long millis = (System.nanoTime() - start) / 1000000;
+
+				if (!solver.getResult().isSolved())
+					return new Line(filename + SEPARATOR + "error: " + solver.getResult(), true);
+				String algorithm = solver.getSolveAlgorithm();
+				int length = Side.stringToMoves(algorithm).length;
+				return new Line(filename + SEPARATOR + algorithm + SEPARATOR + length + SEPARATOR
+					+ solver.getNodesExpanded() + SEPARATOR + millis, false);
+			} catch (RuntimeException e) {
+				return new Line(filename + SEPARATOR + "error: " + e, true);
+			}
+		}
+	}
+
+
+	// Constructors
+
+	/**
+	 * Initializes a BatchSolver that solves cubes with the given DistanceHeuristic
+	 * and settings on the given number of threads
+	 */
+	public BatchSolver(DistanceHeuristic distanceHeuristic, SolverOptions options, int numThreads) {
+		if (distanceHeuristic == null || options == null)
+			throw new NullPointerException("Arguments are null");
+		if (numThreads < 1)
+			throw new IllegalArgumentException("numThreads must be positive");
+
+		this.distanceHeuristic 	= distanceHeuristic;
+		this.options 			= options;
+		this.numThreads 		= numThreads;
+	}
+
+
+	// Methods
+
+	/**
+	 * Solves the cubes in the given files, writing a line to out for each one as
+	 * it is solved. At most TASKS_PER_THREAD cubes per thread are waiting or being
+	 * solved at any time, however many files there are. Returns the number of
+	 * cubes that could not be read or solved.
+	 */
+	public int solve(List<String> filenames, PrintStream out) {
+		if (filenames == null || out == null)
+			throw new NullPointerException("Arguments are null");
+
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		CompletionService<Line> completed = new ExecutorCompletionService<Line>(executor);
+		int numFailed = 0;
+		try {
+			int submitted = 0;
+			int written = 0;
+			while (written < filenames.size()) {
+				// Keep the pool fed, then write whichever solve finishes first
+				while (submitted < filenames.size() && submitted - written < numThreads * TASKS_PER_THREAD) {
+					completed.submit(new SolveTask(filenames.get(submitted++)));
+				}
+
+				Line line = completed.take().get();
+				if (line.isError) numFailed++;
+				out.println(line.text);
+				written++;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while solving batch", e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("Error in solving batch - this error will never be thrown.", e);
+		} finally {
+			executor.shutdownNow();
+		}
+		out.flush();
+		return numFailed;
+	}
+
+
+	// Static methods
+
+	/**
+	 * Returns the cube files named by the given path: every file in it (sorted by
+	 * name) if it is a directory, or else every line of it, taken as a manifest.
+	 * Blank lines and lines starting with # in a manifest are skipped, and
+	 * relative paths are taken relative to the manifest's directory.
+	 */
+	public static List<String> cubeFiles(String path) {
+		if (path == null)
+			throw new NullPointerException("Argument is null");
+
+		List<String> filenames = new ArrayList<String>();
+		File file = new File(path);
+		if (file.isDirectory()) {
+			File[] files = file.listFiles();
+			Arrays.sort(files);
+			for (File f : files) {
+				if (f.isFile()) filenames.add(f.getPath());
+			}
+			return filenames;
+		}
+
+		if (!file.isFile())
+			throw new IllegalArgumentException("No such directory or manifest: " + path);
+		File directory = file.getAbsoluteFile().getParentFile();
+		In manifest = new In(path);
+		while (manifest.hasNextLine()) {
+			String line = manifest.readLine().trim();
+			if (line.isEmpty() || line.startsWith("#")) continue;
+			File cubeFile = new File(line);
+			if (!cubeFile.isAbsolute()) cubeFile = new File(directory, line);
+			filenames.add(cubeFile.getPath());
+		}
+		return filenames;
+	}
+
+
+	// Client
+
+	/**
+	 * A client program that solves the cubes in the directory or manifest and
+	 * with the name of the distanceHeuristic passed as arguments, optionally
+	 * followed by the number of threads and an output file (by default, every
+	 * available processor and standard output)
+	 */
+	public static void main(String[] args) throws FileNotFoundException {
+		String path = args[0];
+		String distanceHeuristicName = args[1];
+		int numThreads = (args.length > 2) ? Integer.parseInt(args[2])
+										   : Runtime.getRuntime().availableProcessors();
+		PrintStream out = (args.length > 3) ? new PrintStream(args[3]) : System.out;
+
+		DistanceHeuristic distanceHeuristic = null;
+		try {
+			distanceHeuristic = (DistanceHeuristic) Class.forName(distanceHeuristicName)
+				.getConstructor()
+				.newInstance();
+		} catch (Exception e) {
+			System.out.println(e);
+		}
+
+		List<String> filenames = cubeFiles(path);
+		BatchSolver batchSolver = new BatchSolver(distanceHeuristic, new SolverOptions(), numThreads);
+		long start = System.nanoTime();
+		int numFailed = batchSolver.solve(filenames, out);
+		long millis = (System.nanoTime() - start) / 1000000;
+		if (out != System.out) out.close();
+
+		System.err.println("Solved " + (filenames.size() - numFailed) + " of " + filenames.size()
+			+ " cubes in " + millis + " ms");
+	}
+}
@@ -0,0 +1,224 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This is a Rubik's Cube solver object that runs two A* searches at
+* once: one forward from the given cube toward the solved cube, and one backward
+* from the solved cube toward the given cube. The backward search turns a solved
+* cube, so the turns it makes are undone (inverted, last turn first) to finish the
+* solution. Both searches record every state they reach in one shared index, and a
+* state reached by both is a meeting point: the turns to it from the given cube,
+* plus the undone turns to it from the solved cube, solve the cube.
+*
+* Each step expands a node of the search with the fewer nodes waiting. The forward
+* search estimates its distance to go with the DistanceHeuristic as usual. The
+* backward search needs the distance from a cube X to the given cube S instead,
+* which is the distance to solved of S.inverse().compose(X) (the turns between X
+* and S, made on a solved cube). The search stops once the best meeting is no
+* longer than the smallest turns made + distance waiting in either search, so with
+* an admissible DistanceHeuristic the solution found is as short as possible.
+***********************************************************************************/
+
+import java.util.Arrays;
+
+public class BidirectionalSolver {
+
+	// Constants
+
+	// Integer labels to identify the direction of a search
+	private static final int FORWARD  = 0;
+	private static final int BACKWARD = 1;
+	private static final int NUM_DIRECTIONS = 2;
+
+	private static final int NONE = NodeStore.NONE;
+
+
+	// Instance variables
+
+	/**
+	 * The DistanceHeuristic providing the definition of distance on cubes for this
+	 * solver
+	 */
+	private DistanceHeuristic distanceHeuristic;
+
+	/**
+	 * The inverse of the cube being solved, for the distances of the backward search
+	 */
+	private Cube inverseStart;
+
+	/**
+	 * The nodes reached by each search, and the nodes each search has waiting,
+	 * indexed by direction
+	 */
+	private NodeStore[] nodes = new NodeStore[NUM_DIRECTIONS];
+	private OpenList[] openLists = new OpenList[NUM_DIRECTIONS];
+
+	/**
+	 * Every state reached by either search, with the node each search reached it
+	 * at (or NONE) in the column of its direction
+	 */
+	private StateIndex index = new StateIndex(NUM_DIRECTIONS);
+
+	/**
+	 * The length of the shortest solution through a meeting found so far, and the
+	 * node of each search at that meeting
+	 */
+	private int bestLength = Integer.MAX_VALUE;
+	private int[] bestMeeting = { NONE, NONE };
+
+	/**
+	 * The number of cubes whose neighbors were searched, in both directions
+	 */
+	private long nodesExpanded;
+
+	/**
+	 * The string representation of the algorithm to solve the cube, as a
+	 * comma-separated list of turns
+	 */
+	private String solveAlgorithm;
+
+
+	// Constructors
+
+	/**
+	 * Initializes a BidirectionalSolver, and solves the given Cube using the given
+	 * DistanceHeuristic. Throws an error if the Cube is invalid or not solvable.
+	 */
+	public BidirectionalSolver(Cube cube, DistanceHeuristic distanceHeuristic) {
+		if (cube == null || distanceHeuristic == null)
+			throw new NullPointerException("Arguments are null");
+
+		this.distanceHeuristic = distanceHeuristic;
+		this.inverseStart 	   = cube.inverse();
+
+		// Start each search at its end of the solution
+		Cube[] roots = { new Cube(cube), new Cube() };
+		for (int direction = 0; direction < NUM_DIRECTIONS; direction++) {
+			nodes[direction] = new NodeStore();
+			openLists[direction] = new BucketOpenList();
+			reach(direction, roots[direction], NONE, NONE, CanonicalMoves.START);
+		}
+
+		// Expand the smaller search until no waiting node can lead to a shorter
+		// solution than the best meeting
+		while (!openLists[FORWARD].isEmpty() && !openLists[BACKWARD].isEmpty()) {
+			int direction = (openLists[FORWARD].size() <= openLists[BACKWARD].size()) ? FORWARD : BACKWARD;
+			int node = openLists[direction].delMin();
+			NodeStore store = nodes[direction];
+			if (store.getDepth(node) + store.getDistance(node) >= bestLength) break;
+			expand(direction, node);
+		}
+		if (bestLength == Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Cube is not solvable");
+
+		// Make the turns to the meeting, then undo the turns from the solved cube
+		int[] forwardPath = nodes[FORWARD].path(bestMeeting[FORWARD]);
+		int[] backwardPath = nodes[BACKWARD].path(bestMeeting[BACKWARD]);
+		int[] solution = Arrays.copyOf(forwardPath, forwardPath.length + backwardPath.length);
+		for (int i = 0; i < backwardPath.length; i++) {
+			solution[forwardPath.length + i] = Side.inverse(backwardPath[backwardPath.length - 1 - i]);
+		}
+		this.solveAlgorithm = Side.movesToString(solution);
+	}
+
+
+	// Helper methods
+
+	/**
+	 * Returns the estimated distance from the given Cube to the far end of the
+	 * search in the given direction
+	 */
+	private int distance(int direction, Cube cube) {
+		if (direction == FORWARD) return distanceHeuristic.distance(cube);
+		return distanceHeuristic.distance(inverseStart.compose(cube));
+	}
+
+	/**
+	 * Records that the search in the given direction reached the given Cube from
+	 * the given node with the given move, unless it already reached it in as few
+	 * turns. Checks whether the other search has reached it too.
+	 */
+	private void reach(int direction, Cube cube, int parent, int move, int sequenceState) {
+		NodeStore store = nodes[direction];
+		int depth = (parent == NONE) ? 0 : store.getDepth(parent) + 1;
+
+		int entry = index.entryOf(cube);
+		int previous = index.get(direction, entry);
+		if (previous != NONE && store.getDepth(previous) <= depth) return;
+
+		int distance = distance(direction, cube);
+		int node = store.add(cube, parent, move, distance, sequenceState);
+		index.set(direction, entry, node);
+		openLists[direction].insert(node, depth + distance, distance);
+
+		// A meeting of the two searches
+		int other = index.get(1 - direction, entry);
+		if (other != NONE && depth + nodes[1 - direction].getDepth(other) < bestLength) {
+			bestLength = depth + nodes[1 - direction].getDepth(other);
+			bestMeeting[direction] = node;
+			bestMeeting[1 - direction] = other;
+		}
+	}
+
+	/**
+	 * Expands the given node of the search in the given direction
+	 */
+	private void expand(int direction, int node) {
+		nodesExpanded++;
+		NodeStore store = nodes[direction];
+		Cube workingCube = store.cube(node);
+		for (int move : Side.QUARTER_TURNS) {
+			// Never make a redundant sequence of moves
+			int sequenceState = CanonicalMoves.next(store.getSequenceState(node), move);
+			if (sequenceState == CanonicalMoves.REDUNDANT) continue;
+
+			workingCube.turnInPlace(move);
+			reach(direction, workingCube, node, move, sequenceState);
+			workingCube.turnInPlace(Side.inverse(move));
+		}
+	}
+
+
+	// Getters
+
+	/**
+	 * Returns the algorithm for solving the cube as a string of moves in standard
+	 * cube notation
+	 */
+	public String getSolveAlgorithm() {
+		return solveAlgorithm;
+	}
+
+	/**
+	 * Returns the number of cubes whose neighbors were searched, in both directions
+	 */
+	public long getNodesExpanded() {
+		return nodesExpanded;
+	}
+
+
+	// Client
+
+	/**
+	 * A client program that solves the cube from the filename and the name of the
+	 * distanceHeuristic passed as arguments
+	 */
+	public static void main(String[] args) {
+		String filename = args[0];
+		String distanceHeuristicName = args[1];
+
+		DistanceHeuristic distanceHeuristic = null;
+		try {
+			distanceHeuristic = (DistanceHeuristic) Class.forName(distanceHeuristicName)
+				.getConstructor()
+				.newInstance();
+		} catch (Exception e) {
+			System.out.println(e);
+		}
+		Cube cube = new Cube(filename);
+		System.out.println("Solving cube.....");
+		BidirectionalSolver solver = new BidirectionalSolver(cube, distanceHeuristic);
+		System.out.print("Solution: ");
+		System.out.println(solver.getSolveAlgorithm());
+	}
+}
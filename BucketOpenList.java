@@ -0,0 +1,158 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This is an OpenList for the small priorities of a cube search
+* (turns made plus distance, or distance alone, both well below 100). Instead of a
+* heap, it keeps an array of buckets indexed by priority, rounded down to an
+* integer, and inside each bucket an array of stacks of nodes indexed by distance.
+* delMin() takes from the lowest non-empty bucket, and from its stack with the
+* smallest distance, so ties in priority go to the node closest to solved. Nodes
+* with the same priority and distance come out last in, first out.
+*
+* Insert takes constant amortized time. delMin() scans upward from the lowest
+* bucket that may hold a node, which in a search whose priorities rarely go down
+* is constant amortized time as well. Every array grows by doubling as needed.
+*
+* Priorities are rounded down, so with a non-integer weight on the distance, nodes
+* whose priorities differ by less than 1 may come out in either order.
+***********************************************************************************/
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class BucketOpenList implements OpenList {
+
+	// Constants
+
+	private static final int INITIAL_PRIORITIES = 32;	// buckets made at first
+	private static final int INITIAL_DISTANCES 	= 16;	// stacks made per bucket at first
+	private static final int INITIAL_CAPACITY 	= 4;	// room made per stack at first
+
+
+	// Instance variables
+
+	private int[][][] nodes;		// nodes[p][d] is the stack of nodes with priority p, distance d
+	private int[][] stackSizes;		// stackSizes[p][d] is the number of nodes in nodes[p][d]
+	private int[] bucketSizes;		// bucketSizes[p] is the number of nodes with priority p
+	private int[] minDistances;		// every stack in bucket p below minDistances[p] is empty
+	private int minPriority;		// every bucket below minPriority is empty
+	private int size;				// number of nodes
+
+
+	// Constructors
+
+	/**
+	 * Construct an empty BucketOpenList
+	 */
+	public BucketOpenList() {
+		this.nodes 			= new int[INITIAL_PRIORITIES][][];
+		this.stackSizes 	= new int[INITIAL_PRIORITIES][];
+		this.bucketSizes 	= new int[INITIAL_PRIORITIES];
+		this.minDistances 	= new int[INITIAL_PRIORITIES];
+	}
+
+
+	// Helper methods
+
+	/**
+	 * Returns the smallest power-of-two multiple of the given length that is
+	 * greater than the given index
+	 */
+	private static int grownLength(int length, int index) {
+		while (length <= index) length *= 2;
+		return length;
+	}
+
+	/**
+	 * Makes sure there is a bucket for the given priority
+	 */
+	private void ensureBucket(int p) {
+		if (p < bucketSizes.length) return;
+		int length = grownLength(bucketSizes.length, p);
+
+		this.nodes 			= Arrays.copyOf(nodes, length);
+		this.stackSizes 	= Arrays.copyOf(stackSizes, length);
+		this.bucketSizes 	= Arrays.copyOf(bucketSizes, length);
+		this.minDistances 	= Arrays.copyOf(minDistances, length);
+	}
+
+	/**
+	 * Makes sure there is a stack for the given distance in the bucket for the
+	 * given priority, with room for one more node
+	 */
+	private void ensureStack(int p, int d) {
+		if (nodes[p] == null) {
+			int length = grownLength(INITIAL_DISTANCES, d);
+			nodes[p] 		= new int[length][];
+			stackSizes[p] 	= new int[length];
+		} else if (d >= nodes[p].length) {
+			int length = grownLength(nodes[p].length, d);
+			nodes[p] 		= Arrays.copyOf(nodes[p], length);
+			stackSizes[p] 	= Arrays.copyOf(stackSizes[p], length);
+		}
+
+		int[] stack = nodes[p][d];
+		if (stack == null) {
+			nodes[p][d] = new int[INITIAL_CAPACITY];
+		} else if (stackSizes[p][d] == stack.length) {
+			nodes[p][d] = Arrays.copyOf(stack, 2 * stack.length);
+		}
+	}
+
+
+	// Methods
+
+	/**
+	 * Adds the given node with the given priority and distance, neither of which
+	 * may be negative
+	 */
+	public void insert(int node, double priority, int distance) {
+		if (!(priority >= 0 && priority < Integer.MAX_VALUE) || distance < 0)
+			throw new IllegalArgumentException("Priority and distance must not be negative");
+
+		int p = (int) priority;	// rounds down
+		ensureBucket(p);
+		ensureStack(p, distance);
+
+		nodes[p][distance][stackSizes[p][distance]++] = node;
+		bucketSizes[p]++;
+		if (distance < minDistances[p]) minDistances[p] = distance;
+		if (p < minPriority) minPriority = p;
+		size++;
+	}
+
+	/**
+	 * Removes and returns the node with the smallest priority (rounded down), and
+	 * of those the one with the smallest distance
+	 */
+	public int delMin() {
+		if (size == 0)
+			throw new NoSuchElementException("Priority queue underflow");
+
+		while (bucketSizes[minPriority] == 0) minPriority++;
+		int p = minPriority;
+		while (stackSizes[p][minDistances[p]] == 0) minDistances[p]++;
+		int d = minDistances[p];
+
+		int node = nodes[p][d][--stackSizes[p][d]];
+		bucketSizes[p]--;
+		size--;
+		return node;
+	}
+
+	/**
+	 * Returns whether there are no nodes in this BucketOpenList
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the number of nodes in this BucketOpenList
+	 */
+	public int size() {
+		return size;
+	}
+
+}
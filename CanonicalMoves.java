@@ -0,0 +1,126 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This class is a library that tells a search which quarter turns are
+* worth making after the turns it has already made. Many sequences of quarter turns
+* are redundant, in that a sequence no longer than them reaches the same cube:
+* - a turn followed by its inverse (R R')
+* - two counter-clockwise turns of a side, the same as two clockwise ones (R' R')
+* - three turns of the same side, the same as one turn the other way (R R R)
+* - turns of opposite sides, which commute, in the non-canonical order: on each
+*   axis the side with the lower label (B, L or D) is turned first (L R, not R L)
+*
+* The rules are a small automaton, precomputed when the class is loaded. Its state
+* records, for the axis of the last turn, how the two sides of that axis have been
+* turned since the search last turned another axis. Passing each turn to next()
+* along with the current state gives the state after it, or REDUNDANT if the turn
+* makes the sequence redundant. Searching only the sequences it allows cuts the
+* branching factor from 12 to about 9.4.
+***********************************************************************************/
+
+public final class CanonicalMoves {
+
+	// Constants
+
+	// The state of the empty sequence
+	public static final int START = 0;
+
+	// Returned by next() for a turn that must not be made
+	public static final int REDUNDANT = -1;
+
+	// How one side of the current axis has been turned since the axis changed
+	private static final int NOT_TURNED 		= 0;
+	private static final int CLOCKWISE_ONCE 	= 1;
+	private static final int COUNTER_ONCE 		= 2;
+	private static final int CLOCKWISE_TWICE 	= 3;
+	private static final int NUM_AMOUNTS 		= 4;
+
+	private static final int NUM_AXES = Side.NUM_FACES / 2;
+
+	// Every state but START is 1 + axis * NUM_AMOUNTS^2 + lower amount * NUM_AMOUNTS
+	// + higher amount. The states where neither side is turned are never reached.
+	public static final int NUM_STATES = 1 + NUM_AXES * NUM_AMOUNTS * NUM_AMOUNTS;
+
+	// The next state after each state and move
+	private static final int[] NEXT = buildTransitions();
+
+
+	// Helper methods
+
+	/**
+	 * Returns the label of the state with the given axis and amounts
+	 */
+	private static int state(int axis, int lowerAmount, int higherAmount) {
+		return 1 + (axis * NUM_AMOUNTS + lowerAmount) * NUM_AMOUNTS + higherAmount;
+	}
+
+	/**
+	 * Returns the amount a side has been turned after turning it once more in the
+	 * given direction, or REDUNDANT if the turns of the side are redundant
+	 */
+	private static int turnedAgain(int amount, int direction) {
+		boolean clockwise = (direction == Side.CLOCKWISE);
+		switch (amount) {
+			case NOT_TURNED: 		return clockwise ? CLOCKWISE_ONCE : COUNTER_ONCE;
+			case CLOCKWISE_ONCE: 	return clockwise ? CLOCKWISE_TWICE : REDUNDANT;
+			default: 				return REDUNDANT;	// R' R', R' R, or a third turn
+		}
+	}
+
+	/**
+	 * Returns the transition table, indexed by state * Side.NUM_MOVES + move. Half
+	 * turns are never allowed, since they are not single turns.
+	 */
+	private static int[] buildTransitions() {
+		int[] next = new int[NUM_STATES * Side.NUM_MOVES];
+		for (int i = 0; i < next.length; i++) next[i] = REDUNDANT;
+
+		for (int state = 0; state < NUM_STATES; state++) {
+			int axis = -1;	// no axis at START
+			int lowerAmount = NOT_TURNED;
+			int higherAmount = NOT_TURNED;
+			if (state != START) {
+				axis 		 = (state - 1) / (NUM_AMOUNTS * NUM_AMOUNTS);
+				lowerAmount  = (state - 1) / NUM_AMOUNTS % NUM_AMOUNTS;
+				higherAmount = (state - 1) % NUM_AMOUNTS;
+			}
+
+			for (int move : Side.QUARTER_TURNS) {
+				int face = Side.faceOf(move);
+				int direction = Side.directionOf(move);
+				boolean isLower = (face % 2 == 0);
+
+				int result;
+				if (face / 2 != axis) {
+					// A new axis starts over
+					int amount = turnedAgain(NOT_TURNED, direction);
+					result = isLower ? state(face / 2, amount, NOT_TURNED)
+									 : state(face / 2, NOT_TURNED, amount);
+				} else if (isLower) {
+					// The lower side may not follow the higher one
+					int amount = turnedAgain(lowerAmount, direction);
+					boolean allowed = (higherAmount == NOT_TURNED && amount != REDUNDANT);
+					result = allowed ? state(axis, amount, higherAmount) : REDUNDANT;
+				} else {
+					int amount = turnedAgain(higherAmount, direction);
+					result = (amount != REDUNDANT) ? state(axis, lowerAmount, amount) : REDUNDANT;
+				}
+				next[state * Side.NUM_MOVES + move] = result;
+			}
+		}
+		return next;
+	}
+
+
+	// Static methods
+
+	/**
+	 * Returns the state after making the given move in the given state, or
+	 * REDUNDANT if some sequence no longer than the moves so far plus this one
+	 * reaches the same cube
+	 */
+	public static int next(int state, int move) {
+		return NEXT[state * Side.NUM_MOVES + move];
+	}
+}
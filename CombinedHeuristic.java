@@ -0,0 +1,64 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This is a DistanceHeuristic that combines several others, either by
+* taking the largest of their distances or by adding them up.
+*
+* The maximum of admissible heuristics is admissible. The sum is only admissible if
+* no turn is counted by more than one of them, which is not the case for pattern
+* databases of the corners and edges (every turn moves both), so SUM overestimates.
+* It is still useful with greedy or weighted search, where a more informed (if
+* inadmissible) distance finds solutions faster.
+***********************************************************************************/
+
+public class CombinedHeuristic implements DistanceHeuristic {
+
+	// Constants
+
+	// Integer labels to identify how distances are combined
+	public static final int MAX = 0;
+	public static final int SUM = 1;
+
+
+	// Instance variables
+
+	private DistanceHeuristic[] heuristics;	// the heuristics combined
+	private int combination;				// MAX or SUM
+
+
+	// Constructors
+
+	/**
+	 * Construct a CombinedHeuristic that combines the given heuristics in the
+	 * given way (MAX or SUM)
+	 */
+	public CombinedHeuristic(int combination, DistanceHeuristic... heuristics) {
+		if (heuristics == null)
+			throw new NullPointerException("Heuristics are null");
+		if (heuristics.length == 0)
+			throw new IllegalArgumentException("At least one heuristic is required");
+		if (combination != MAX && combination != SUM)
+			throw new IllegalArgumentException("Unknown combination: " + combination);
+
+		this.heuristics  = heuristics.clone();
+		this.combination = combination;
+	}
+
+
+	// Methods
+
+	/**
+	 * Returns the combined distance from the given cube to a solved cube
+	 */
+	public int distance(Cube cube) {
+		int combined = 0;
+		for (DistanceHeuristic heuristic : heuristics) {
+			int distance = heuristic.distance(cube);
+			if (combination == SUM) 	 combined += distance;
+			else if (distance > combined) combined = distance;
+		}
+		return combined;
+	}
+
+}
@@ -0,0 +1,137 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This is a pattern database (see PatternDatabase) for the 8 corners.
+* It holds the exact number of quarter turns needed to solve the corners from every
+* one of their 8! * 3^7 = 88,179,840 configurations, in a 44 MB file. A state is
+* ranked by its corner permutation and the orientations of the first 7 corners (the
+* last orientation is determined by the others).
+*
+* Run this class as a program to generate the file before solving with it.
+***********************************************************************************/
+
+public class CornerPatternDatabase extends PatternDatabase {
+
+	// Constants
+
+	public static final String DEFAULT_FILENAME = "corners.pdb";
+
+	private static final int CORNER_COLORS 		= 3;
+	private static final int NUM_PERMUTATIONS 	= 40320;	// 8!
+	private static final int NUM_ORIENTATIONS 	= 2187;		// 3^7
+
+
+	// Constructors
+
+	/**
+	 * Construct a CornerPatternDatabase from the file DEFAULT_FILENAME
+	 */
+	public CornerPatternDatabase() {
+		this(DEFAULT_FILENAME);
+	}
+
+	/**
+	 * Construct a CornerPatternDatabase from the given file
+	 */
+	public CornerPatternDatabase(String filename) {
+		load(filename);
+	}
+
+	/**
+	 * Construct a CornerPatternDatabase by building its table
+	 */
+	private CornerPatternDatabase(boolean build) {
+		build();
+	}
+
+
+	// Pattern definition
+
+	protected long size() {
+		return (long) NUM_PERMUTATIONS * NUM_ORIENTATIONS;
+	}
+
+	protected long stateOf(Cube cube) {
+		return cube.corners();
+	}
+
+	protected long indexOf(long corners) {
+		int permutation = 0;
+		int orientation = 0;
+		int seen = 0;
+		for (int slot = 0; slot < Cube.NUM_CORNERS; slot++) {
+			int value = Cube.slotValue(corners, slot);
+			int corner = value & Cube.CORNER_INDEX_MASK;
+			permutation = permutation * (Cube.NUM_CORNERS - slot) + Utilities.lehmerDigit(corner, seen);
+			seen |= 1 << corner;
+			if (slot < Cube.NUM_CORNERS - 1)
+				orientation = orientation * CORNER_COLORS + (value >>> Cube.CORNER_INDEX_BITS);
+		}
+		return (long) permutation * NUM_ORIENTATIONS + orientation;
+	}
+
+	protected long stateAt(long index) {
+		int[] permutation = new int[Cube.NUM_CORNERS];
+		Utilities.unrankPermutation((int) (index / NUM_ORIENTATIONS), permutation);
+		int orientation = (int) (index % NUM_ORIENTATIONS);
+
+		// Orientations were ranked first slot first, so they come out last first.
+		// The last corner's orientation makes the total a multiple of 3.
+		int[] orientations = new int[Cube.NUM_CORNERS];
+		int sum = 0;
+		for (int slot = Cube.NUM_CORNERS - 2; slot >= 0; slot--) {
+			orientations[slot] = orientation % CORNER_COLORS;
+			orientation /= CORNER_COLORS;
+			sum += orientations[slot];
+		}
+		orientations[Cube.NUM_CORNERS - 1] = (CORNER_COLORS - sum % CORNER_COLORS) % CORNER_COLORS;
+
+		long corners = 0;
+		for (int slot = 0; slot < Cube.NUM_CORNERS; slot++) {
+			int value = Cube.cornerValue(permutation[slot], orientations[slot]);
+			corners |= (long) value << (Cube.BITS_PER_SLOT * slot);
+		}
+		return corners;
+	}
+
+	protected long turn(long corners, int move) {
+		return Side.turnCorners(corners, move);
+	}
+
+	protected long solvedState() {
+		return Cube.SOLVED_CORNERS;
+	}
+
+
+	// Static methods
+
+	/**
+	 * Builds the corner pattern database and writes it to the given file
+	 */
+	public static CornerPatternDatabase generate(String filename) {
+		CornerPatternDatabase database = new CornerPatternDatabase(true);
+		database.save(filename);
+		return database;
+	}
+
+
+	// Client
+
+	/**
+	 * A client program that generates the corner pattern database, writing it to
+	 * the filename passed as an argument (or DEFAULT_FILENAME)
+	 */
+	public static void main(String[] args) {
+		String filename = (args.length > 0) ? args[0] : DEFAULT_FILENAME;
+		System.out.println("Generating corner pattern database.....");
+		CornerPatternDatabase database = generate(filename);
+
+		long[] statesAtDistance = database.getStatesAtDistance();
+		for (int distance = 0; distance < statesAtDistance.length; distance++) {
+			if (statesAtDistance[distance] > 0)
+				System.out.println(distance + " turns: " + statesAtDistance[distance] + " states");
+		}
+		System.out.println("Wrote " + filename);
+	}
+}
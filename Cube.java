@@ -5,11 +5,17 @@
 * Description: This object is a model for the Rubik's Cube. It supports operations
 * for retrieving cublets, turning sides, and determining whether or not the cube is
 * solved.
+*
+* Internally the state is packed into two longs: one holding the permutation and
+* orientation of the 8 corners and one holding those of the 12 edges. Centers and
+* the core never move under face turns, so they are not stored at all. Cublet
+* objects are only built on demand by the getters.
 ***********************************************************************************/
 
 import edu.princeton.cs.algs4.In;
 import edu.princeton.cs.algs4.RedBlackBST;
 import java.util.HashMap;
+import java.util.Random;
 
 public class Cube {
 
@@ -27,6 +33,7 @@ public class Cube {
 	private static final HashMap<Coordinate, String> clockwiseTurnToString = buildClockwiseTurnMap();
 	private static final HashMap<Coordinate, String> counterClockwiseTurnToString = 
 		buildCounterClockwiseTurnMap();
+	private static final HashMap<Coordinate, String> halfTurnToString = buildHalfTurnMap();
 
 
 	/**
@@ -59,6 +66,21 @@ public class Cube {
 		return map;
 	}
 
+	/**
+	 * Returns the a mapping from Coordinates representing a side to the string
+	 * representation of that side (for half turns)
+	 */
+	private static HashMap<Coordinate, String> buildHalfTurnMap() {
+		HashMap<Coordinate, String> map = new HashMap<Coordinate, String>();
+		map.put(B, "B2");
+		map.put(F, "F2");
+		map.put(L, "L2");
+		map.put(R, "R2");
+		map.put(D, "D2");
+		map.put(U, "U2");
+		return map;
+	}
+
 	/**
 	 * Returns the string representation of a clockwise turn on the Coordinate's 
 	 * corresponding side
@@ -74,6 +96,14 @@ public class Cube {
 	public static String counterClockwiseTurnToString(Coordinate side) {
 		return counterClockwiseTurnToString.get(side);
 	}
+
+	/**
+	 * Returns the string representation of a half turn on the Coordinate's
+	 * corresponding side
+	 */
+	public static String halfTurnToString(Coordinate side) {
+		return halfTurnToString.get(side);
+	}
 	
 	
 	// The default value of the unspecified Coordinate of an edge's location on
@@ -81,9 +111,180 @@ public class Cube {
 	public static final Coordinate EDGE = new Coordinate(1);
 
 
+	// Packed state layout. Each corner or edge position ("slot") gets 5 bits in
+	// its long. A corner slot holds the index of the corner that is in it (3 bits)
+	// and that corner's orientation (2 bits). An edge slot holds the index of the
+	// edge (4 bits) and its orientation (1 bit). A cublet's index is the index of
+	// the slot it occupies when the cube is solved.
+
+	public static final int NUM_CORNERS = 8;	// number of corner slots
+	public static final int NUM_EDGES 	= 12;	// number of edge slots
+
+	static final int BITS_PER_SLOT 		= 5;
+	static final int SLOT_MASK 			= (1 << BITS_PER_SLOT) - 1;
+	static final int CORNER_INDEX_BITS 	= 3;
+	static final int CORNER_INDEX_MASK 	= (1 << CORNER_INDEX_BITS) - 1;
+	static final int EDGE_INDEX_BITS 	= 4;
+	static final int EDGE_INDEX_MASK 	= (1 << EDGE_INDEX_BITS) - 1;
+	static final int CORNER_ORIENTATIONS = 3;
+	static final int EDGE_ORIENTATIONS 	 = 2;
+
+	// Coordinates (x, y, z) of each corner and edge slot
+	private static final int[][] CORNER_POSITIONS = new int[NUM_CORNERS][];
+	private static final int[][] EDGE_POSITIONS   = new int[NUM_EDGES][];
+
+	// Mapping from a position (x, y, z), flattened to 9x + 3y + z, to the index of
+	// the corner or edge slot at that position (-1 for centers and the core)
+	private static final int[] SLOT_AT_POSITION = buildSlotTable();
+
+	static final long SOLVED_CORNERS = buildSolvedState(NUM_CORNERS);
+	static final long SOLVED_EDGES 	 = buildSolvedState(NUM_EDGES);
+
+	// Random keys for Zobrist hashing, one for every slot and value a slot can
+	// hold. The hash of a state is the XOR of the keys of the values in all its
+	// slots, so a turn, which changes 4 corner slots and 4 edge slots, changes the
+	// hash by XOR-ing out the keys of 8 old values and XOR-ing in those of 8 new.
+	private static final long ZOBRIST_SEED = 0x2545F4914F6CDD1DL;
+	private static final long[] CORNER_KEYS = buildKeys(NUM_CORNERS, ZOBRIST_SEED);
+	private static final long[] EDGE_KEYS 	= buildKeys(NUM_EDGES, ZOBRIST_SEED + 1);
+
+	/**
+	 * Fills in the corner and edge position tables and returns the mapping from
+	 * positions to slots
+	 */
+	private static int[] buildSlotTable() {
+		int[] slotAtPosition = new int[GRID_SIZE * GRID_SIZE * GRID_SIZE];
+		int numCorners = 0;
+		int numEdges = 0;
+		for (int x = 0; x < GRID_SIZE; x++) {
+			for (int y = 0; y < GRID_SIZE; y++) {
+				for (int z = 0; z < GRID_SIZE; z++) {
+					int position = flatten(x, y, z);
+					int type = Utilities.typeOfCublet(x, y, z);
+					if (type == Utilities.CUBLET_CORNER) {
+						CORNER_POSITIONS[numCorners] = new int[] { x, y, z };
+						slotAtPosition[position] = numCorners++;
+					} else if (type == Utilities.CUBLET_EDGE) {
+						EDGE_POSITIONS[numEdges] = new int[] { x, y, z };
+						slotAtPosition[position] = numEdges++;
+					} else {
+						slotAtPosition[position] = -1;
+					}
+				}
+			}
+		}
+		return slotAtPosition;
+	}
+
+	/**
+	 * Returns the packed state in which every one of the given number of slots
+	 * holds its own cublet, correctly oriented
+	 */
+	private static long buildSolvedState(int numSlots) {
+		long state = 0;
+		for (int slot = 0; slot < numSlots; slot++) {
+			state |= (long) slot << (BITS_PER_SLOT * slot);
+		}
+		return state;
+	}
+
+	/**
+	 * Returns random keys for every value of the given number of slots, indexed by
+	 * slot * 2^BITS_PER_SLOT + value. The keys only depend on the seed, so hashes
+	 * are the same from one run to the next.
+	 */
+	private static long[] buildKeys(int numSlots, long seed) {
+		Random random = new Random(seed);
+		long[] keys = new long[numSlots << BITS_PER_SLOT];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = random.nextLong();
+		}
+		return keys;
+	}
+
+	/**
+	 * Returns the Zobrist key of the given value in the given corner slot
+	 */
+	static long cornerKey(int slot, int value) {
+		return CORNER_KEYS[(slot << BITS_PER_SLOT) | value];
+	}
+
+	/**
+	 * Returns the Zobrist key of the given value in the given edge slot
+	 */
+	static long edgeKey(int slot, int value) {
+		return EDGE_KEYS[(slot << BITS_PER_SLOT) | value];
+	}
+
+	/**
+	 * Returns the Zobrist hash of the given packed state, computed from every slot
+	 */
+	static long zobristHash(long corners, long edges) {
+		long hash = 0;
+		for (int slot = 0; slot < NUM_CORNERS; slot++) {
+			hash ^= cornerKey(slot, slotValue(corners, slot));
+		}
+		for (int slot = 0; slot < NUM_EDGES; slot++) {
+			hash ^= edgeKey(slot, slotValue(edges, slot));
+		}
+		return hash;
+	}
+
+	/**
+	 * Returns the position (x, y, z) flattened into a single index
+	 */
+	private static int flatten(int x, int y, int z) {
+		return (x * GRID_SIZE + y) * GRID_SIZE + z;
+	}
+
+	/**
+	 * Returns the index of the corner or edge slot at position (x, y, z)
+	 */
+	static int slotAt(int x, int y, int z) {
+		return SLOT_AT_POSITION[flatten(x, y, z)];
+	}
+
+	/**
+	 * Returns the position { x, y, z } of the given corner slot
+	 */
+	static int[] cornerPosition(int slot) {
+		return CORNER_POSITIONS[slot].clone();
+	}
+
+	/**
+	 * Returns the position { x, y, z } of the given edge slot
+	 */
+	static int[] edgePosition(int slot) {
+		return EDGE_POSITIONS[slot].clone();
+	}
+
+	/**
+	 * Returns the 5-bit value stored in the given slot of a packed state
+	 */
+	static int slotValue(long state, int slot) {
+		return (int) (state >>> (BITS_PER_SLOT * slot)) & SLOT_MASK;
+	}
+
+	/**
+	 * Returns the 5-bit slot value for the given corner index and orientation
+	 */
+	static int cornerValue(int index, int orientation) {
+		return index | (orientation << CORNER_INDEX_BITS);
+	}
+
+	/**
+	 * Returns the 5-bit slot value for the given edge index and orientation
+	 */
+	static int edgeValue(int index, int orientation) {
+		return index | (orientation << EDGE_INDEX_BITS);
+	}
+
+
 	// Instance variables
 
-	private Cublet[][][] cublets;	// cublets at locations (x, y, z)
+	private long corners;	// packed permutation and orientation of the corners
+	private long edges;		// packed permutation and orientation of the edges
+	private long hash;		// Zobrist hash of the corners and edges
 
 
 	// Constructors
@@ -104,7 +305,7 @@ public class Cube {
 	 * construction will fail.
 	 */
 	public Cube(String filename) {
-		cublets = new Cublet[GRID_SIZE][GRID_SIZE][GRID_SIZE];
+		boolean[] filled = new boolean[GRID_SIZE * GRID_SIZE * GRID_SIZE];
 
 		String comment = "#";
 		In input = new In(filename);
@@ -115,7 +316,7 @@ public class Cube {
 				continue;
 			}
 
-			// Parse the line and initialize the Cublet
+			// Parse the line and pack the Cublet into its slot
 			int x0 	= Integer.parseInt(next);
 			int y0 	= Integer.parseInt(input.readString());
 			int z0 	= Integer.parseInt(input.readString());
@@ -123,43 +324,21 @@ public class Cube {
 			int y 	= Integer.parseInt(input.readString());
 			int z 	= Integer.parseInt(input.readString());
 			int orientation = Integer.parseInt(input.readString());
-			int type = Utilities.typeOfCublet(x, y, z);
-			switch (type) {
-				case Utilities.CUBLET_EDGE:
-					cublets[x][y][z] = new Edge(new XCoordinate(x0), 
-						new YCoordinate(y0), new ZCoordinate(z0), orientation);
-					break;
-				case Utilities.CUBLET_CORNER:
-					cublets[x][y][z] = new Corner(new XCoordinate(x0), 
-						new YCoordinate(y0), new ZCoordinate(z0), orientation);
-					break;
-				case Utilities.CUBLET_CENTER:
-					cublets[x][y][z] = new Center(new XCoordinate(x0), 
-						new YCoordinate(y0), new ZCoordinate(z0));
-					break;
-				case Utilities.CUBLET_CORE:
-					cublets[x][y][z] = new Cublet(new XCoordinate(x0),
-						new YCoordinate(y0), new ZCoordinate(z0), orientation);
-					break;
-				default:
-					throw new RuntimeException("Error in Cube construction by file: this error will never be thrown.");
-			}
+			place(x0, y0, z0, x, y, z, orientation);
+			filled[flatten(x, y, z)] = true;
 		}
 
-		// Add the core as a blank Cublet
+		// The core is never listed in the file
 		int core = 1;
-		cublets[core][core][core] = new Cublet(new XCoordinate(core),
-			new YCoordinate(core), new ZCoordinate(core), Cublet.ORIENTED);
+		filled[flatten(core, core, core)] = true;
 
 		// Validate that every position was filled with a Cublet
-		for (int x = 0; x < GRID_SIZE; x++) {
-			for (int y = 0; y < GRID_SIZE; y++) {
-				for (int z = 0; z < GRID_SIZE; z++) {
-					if (cublets[x][y][z] == null)
-						throw new IllegalArgumentException("File is not a complete Rubik's Cube.");
-				}
-			}
+		for (int position = 0; position < filled.length; position++) {
+			if (!filled[position])
+				throw new IllegalArgumentException("File is not a complete Rubik's Cube.");
 		}
+		validatePieces();
+		this.hash = zobristHash(corners, edges);
 
 		// TODO: Validate that this Cube is solvable
 	}
@@ -174,39 +353,19 @@ public class Cube {
 		if (cublets.length != GRID_SIZE || cublets[0].length != GRID_SIZE || cublets[0][0].length != GRID_SIZE)
 			throw new IllegalArgumentException("Cublet array does not represent a 3x3x3 Rubik's Cube");
 
-		// Mapping from a Cublet's solved position to whether or not that Cublet
-		// was found in the given array
-		boolean[][][] found = new boolean[GRID_SIZE][GRID_SIZE][GRID_SIZE];
-
-		// Copy the array
-		this.cublets = new Cublet[GRID_SIZE][GRID_SIZE][GRID_SIZE];
 		for (int x = 0; x < GRID_SIZE; x++) {
 			for (int y = 0; y < GRID_SIZE; y++) {
 				for (int z = 0; z < GRID_SIZE; z++) {
-					int type = Utilities.typeOfCublet(x, y, z);
-					switch (type) {
-						case Utilities.CUBLET_EDGE:
-							this.cublets[x][y][z] = new Edge((Edge) cublets[x][y][z]); 
-							break;
-						case Utilities.CUBLET_CORNER:
-							this.cublets[x][y][z] = new Corner((Corner) cublets[x][y][z]);
-							break;
-						case Utilities.CUBLET_CENTER:
-							this.cublets[x][y][z] = new Center((Center) cublets[x][y][z]);
-							break;
-						case Utilities.CUBLET_CORE:
-							this.cublets[x][y][z] = new Cublet(cublets[x][y][z]);
-							break;
-						default:
-							throw new RuntimeException("Error in Cube construction by array: this error will never be thrown.");
-					}
-
-					// TODO: Need to get solved position of the cublet just copied so it can be marked as found
+					Cublet cublet = cublets[x][y][z];
+					if (cublet == null)
+						throw new IllegalArgumentException("Cublet array is not a complete Rubik's Cube");
+					place(cublet.solvedX.value(), cublet.solvedY.value(), cublet.solvedZ.value(),
+						x, y, z, cublet.orientation);
 				}
 			}
 		}
-
-		// TODO: Validate that all of the pieces are present in the new array
+		validatePieces();
+		this.hash = zobristHash(corners, edges);
 
 		// TODO: Validate that this Cube is solvable
 	}
@@ -216,37 +375,107 @@ public class Cube {
 	 * Construct a copy of the given Cube
 	 */
 	public Cube(Cube cube) {
-		this.cublets = new Cublet[GRID_SIZE][GRID_SIZE][GRID_SIZE];
-		for (int x = 0; x < GRID_SIZE; x++) {
-			for (int y = 0; y < GRID_SIZE; y++) {
-				for (int z = 0; z < GRID_SIZE; z++) {
-					int type = Utilities.typeOfCublet(x, y, z);
-					switch (type) {
-						case Utilities.CUBLET_EDGE:
-							this.cublets[x][y][z] = new Edge((Edge) cube.cublets[x][y][z]); 
-							break;
-						case Utilities.CUBLET_CORNER:
-							this.cublets[x][y][z] = new Corner((Corner) cube.cublets[x][y][z]);
-							break;
-						case Utilities.CUBLET_CENTER:
-							this.cublets[x][y][z] = new Center((Center) cube.cublets[x][y][z]);
-							break;
-						case Utilities.CUBLET_CORE:
-							this.cublets[x][y][z] = new Cublet(cube.cublets[x][y][z]);
-							break;
-						default:
-							throw new RuntimeException("Error in Cube copy: this error will never be thrown.");
-					}
-				}
-			}
-		}
+		this.corners = cube.corners;
+		this.edges 	 = cube.edges;
+		this.hash 	 = cube.hash;
 	}
 
 	/**
 	 * Construct a solved Cube
 	 */
 	public Cube() {
-		this("tests/cube_solved.txt");
+		this(SOLVED_CORNERS, SOLVED_EDGES);
+	}
+
+	/**
+	 * Construct a Cube directly from its packed corner and edge states
+	 */
+	Cube(long corners, long edges) {
+		this(corners, edges, zobristHash(corners, edges));
+	}
+
+	/**
+	 * Construct a Cube directly from its packed corner and edge states and their
+	 * Zobrist hash, which must be the hash of those states
+	 */
+	Cube(long corners, long edges, long hash) {
+		this.corners = corners;
+		this.edges 	 = edges;
+		this.hash 	 = hash;
+	}
+
+
+	// Helper methods
+
+	/**
+	 * Packs the Cublet whose solved position is (x0, y0, z0) into the slot at
+	 * its current position (x, y, z). Centers and the core are never moved by a
+	 * turn, so they must be in their solved positions.
+	 */
+	private void place(int x0, int y0, int z0, int x, int y, int z, int orientation) {
+		int type = Utilities.typeOfCublet(x, y, z);
+		if (type != Utilities.typeOfCublet(x0, y0, z0))
+			throw new IllegalArgumentException("Cublet at (" + x + ", " + y + ", " + z
+				+ ") does not belong in a position of that type");
+
+		int slot  = slotAt(x, y, z);
+		int index = slotAt(x0, y0, z0);
+		int shift = BITS_PER_SLOT * slot;
+		switch (type) {
+			case Utilities.CUBLET_EDGE:
+				if (orientation < 0 || orientation >= EDGE_ORIENTATIONS)
+					throw new IllegalArgumentException("Invalid edge orientation: " + orientation);
+				edges = (edges & ~((long) SLOT_MASK << shift))
+					| ((long) edgeValue(index, orientation) << shift);
+				break;
+			case Utilities.CUBLET_CORNER:
+				if (orientation < 0 || orientation >= CORNER_ORIENTATIONS)
+					throw new IllegalArgumentException("Invalid corner orientation: " + orientation);
+				corners = (corners & ~((long) SLOT_MASK << shift))
+					| ((long) cornerValue(index, orientation) << shift);
+				break;
+			case Utilities.CUBLET_CENTER:
+			case Utilities.CUBLET_CORE:
+				if (x0 != x || y0 != y || z0 != z)
+					throw new IllegalArgumentException("Centers cannot be moved from their solved positions");
+				break;
+			default:
+				throw new RuntimeException("Error in placing a Cublet: this error will never be thrown.");
+		}
+	}
+
+	/**
+	 * Throws an exception unless every corner and every edge appears exactly once
+	 */
+	private void validatePieces() {
+		int cornersFound = 0;
+		int edgesFound 	 = 0;
+		for (int slot = 0; slot < NUM_CORNERS; slot++) {
+			cornersFound |= 1 << (slotValue(corners, slot) & CORNER_INDEX_MASK);
+		}
+		for (int slot = 0; slot < NUM_EDGES; slot++) {
+			edgesFound |= 1 << (slotValue(edges, slot) & EDGE_INDEX_MASK);
+		}
+		if (cornersFound != (1 << NUM_CORNERS) - 1 || edgesFound != (1 << NUM_EDGES) - 1)
+			throw new IllegalArgumentException("Cube does not contain every corner and edge exactly once");
+	}
+
+	/**
+	 * Returns a new Corner for the given corner slot value
+	 */
+	private static Corner unpackCorner(int value) {
+		int[] solved = CORNER_POSITIONS[value & CORNER_INDEX_MASK];
+		return new Corner(new XCoordinate(solved[0]), new YCoordinate(solved[1]),
+			new ZCoordinate(solved[2]), value >>> CORNER_INDEX_BITS);
+	}
+
+	/**
+	 * Returns a new Edge for the given edge slot value
+	 */
+	private static Edge unpackEdge(int value) {
+		int[] solved = EDGE_POSITIONS[value & EDGE_INDEX_MASK];
+		return new Edge(new XCoordinate(solved[0]), new YCoordinate(solved[1]),
+			new ZCoordinate(solved[2]), value >>> EDGE_INDEX_BITS);
 	}
 
 
@@ -259,13 +488,14 @@ public class Cube {
 		int type = Utilities.typeOfCublet(x.value(), y.value(), z.value());
 		switch (type) {
 			case Utilities.CUBLET_EDGE:
-				return new Edge((Edge) cublets[x.value()][y.value()][z.value()]);
+				return unpackEdge(slotValue(edges, slotAt(x.value(), y.value(), z.value())));
 			case Utilities.CUBLET_CORNER:
-				return new Corner((Corner) cublets[x.value()][y.value()][z.value()]);
+				return getCorner(x, y, z);
 			case Utilities.CUBLET_CENTER:
-				return new Center((Center) cublets[x.value()][y.value()][z.value()]);
+				return new Center(new XCoordinate(x), new YCoordinate(y), new ZCoordinate(z));
 			case Utilities.CUBLET_CORE:
-				return new Cublet(cublets[x.value()][y.value()][z.value()]);
+				return new Cublet(new XCoordinate(x), new YCoordinate(y), new ZCoordinate(z),
+					Cublet.ORIENTED);
 			default:
 				throw new RuntimeException("Error in retrieving a Cublet: this error will never be thrown.");
 		}
@@ -275,7 +505,7 @@ public class Cube {
 	 * Returns the Corner at position (x, y, z)
 	 */
 	public Corner getCorner(XCoordinate x, YCoordinate y, ZCoordinate z) {
-		return new Corner((Corner) cublets[x.value()][y.value()][z.value()]);
+		return unpackCorner(slotValue(corners, slotAt(x.value(), y.value(), z.value())));
 	}
 
 	/**
@@ -283,7 +513,7 @@ public class Cube {
 	 * FD (x, z), etc.
 	 */
 	public Edge getEdge(XCoordinate x, YCoordinate y) {
-		return new Edge((Edge) cublets[x.value()][y.value()][EDGE.value()]);
+		return unpackEdge(slotValue(edges, slotAt(x.value(), y.value(), EDGE.value())));
 	}
 
 	/**
@@ -291,7 +521,7 @@ public class Cube {
 	 * FD (x, z), etc.
 	 */
 	public Edge getEdge(YCoordinate y, ZCoordinate z) {
-		return new Edge((Edge) cublets[EDGE.value()][y.value()][z.value()]);
+		return unpackEdge(slotValue(edges, slotAt(EDGE.value(), y.value(), z.value())));
 	}
 
 	/**
@@ -299,7 +529,21 @@ public class Cube {
 	 * FD (x, z), etc.
 	 */
 	public Edge getEdge(XCoordinate x, ZCoordinate z) {
-		return new Edge((Edge) cublets[x.value()][EDGE.value()][z.value()]);
+		return unpackEdge(slotValue(edges, slotAt(x.value(), EDGE.value(), z.value())));
+	}
+
+	/**
+	 * Returns the packed permutation and orientation of the corners
+	 */
+	long corners() {
+		return corners;
+	}
+
+	/**
+	 * Returns the packed permutation and orientation of the edges
+	 */
+	long edges() {
+		return edges;
 	}
 	
 
@@ -309,20 +553,7 @@ public class Cube {
 	 * Returns whether this Cube is solved
 	 */
 	public boolean isSolved() {
-		for (int x = 0; x < GRID_SIZE; x++) {
-			for (int y = 0; y < GRID_SIZE; y++) {
-				for (int z = 0; z < GRID_SIZE; z++) {
-					XCoordinate cx = new XCoordinate(x);
-					YCoordinate cy = new YCoordinate(y);
-					ZCoordinate cz = new ZCoordinate(z);
-					Cublet cublet = cublets[x][y][z];
-					if (!(cublet.isPermuted(cx, cy, cz) && cublet.isOriented()))
-						return false;
-				}
-			}
-		}
-
-		return true;
+		return corners == SOLVED_CORNERS && edges == SOLVED_EDGES;
 	}
 
 	/**
@@ -349,17 +580,12 @@ public class Cube {
 		return Side.turnClockwise(plane, this);
 	}
 
-	// TODO: Optimize turnCounterClockwise() methods for better efficiency, and write tests for them one them no longer depend on turnClockwise()
-
 	/**
 	 * Returns a new Cube that is the result of turning the side in the given plane
 	 * once counter-clockwise 
 	 */
 	public Cube turnCounterClockwise(XCoordinate plane) {
-		return this
-			.turnClockwise(plane)
-			.turnClockwise(plane)
-			.turnClockwise(plane);
+		return Side.turnCounterClockwise(plane, this);
 	}
 
 	/**
@@ -367,10 +593,7 @@ public class Cube {
 	 * once counter-clockwise 
 	 */
 	public Cube turnCounterClockwise(YCoordinate plane) {
-		return this
-			.turnClockwise(plane)
-			.turnClockwise(plane)
-			.turnClockwise(plane);
+		return Side.turnCounterClockwise(plane, this);
 	}
 
 	/**
@@ -378,27 +601,143 @@ public class Cube {
 	 * once counter-clockwise 
 	 */
 	public Cube turnCounterClockwise(ZCoordinate plane) {
-		return this
-			.turnClockwise(plane)
-			.turnClockwise(plane)
-			.turnClockwise(plane);
+		return Side.turnCounterClockwise(plane, this);
+	}
+
+	/**
+	 * Returns a new Cube that is the result of turning the side in the given plane
+	 * twice
+	 */
+	public Cube turnHalf(XCoordinate plane) {
+		return Side.turnHalf(plane, this);
+	}
+
+	/**
+	 * Returns a new Cube that is the result of turning the side in the given plane
+	 * twice
+	 */
+	public Cube turnHalf(YCoordinate plane) {
+		return Side.turnHalf(plane, this);
+	}
+
+	/**
+	 * Returns a new Cube that is the result of turning the side in the given plane
+	 * twice
+	 */
+	public Cube turnHalf(ZCoordinate plane) {
+		return Side.turnHalf(plane, this);
+	}
+
+	/**
+	 * Returns a new Cube that is the result of making the given move (see Side
+	 * for move labels)
+	 */
+	public Cube turn(int move) {
+		return Side.turn(move, this);
 	}
 	
 
+	/**
+	 * Returns a new Cube in the state reached by making, on a solved cube, the
+	 * turns that reach this Cube and then the turns that reach that Cube
+	 */
+	public Cube compose(Cube that) {
+		if (that == null)
+			throw new NullPointerException("Argument is null");
+
+		// The cublet that ends in each slot is the one this Cube has in the slot
+		// that Cube takes its cublet from, twisted by both
+		long composedCorners = 0;
+		for (int slot = 0; slot < NUM_CORNERS; slot++) {
+			int thatValue = slotValue(that.corners, slot);
+			int thisValue = slotValue(this.corners, thatValue & CORNER_INDEX_MASK);
+			int orientation = ((thisValue >>> CORNER_INDEX_BITS) + (thatValue >>> CORNER_INDEX_BITS))
+				% CORNER_ORIENTATIONS;
+			composedCorners |= (long) cornerValue(thisValue & CORNER_INDEX_MASK, orientation)
+				<< (BITS_PER_SLOT * slot);
+		}
+
+		long composedEdges = 0;
+		for (int slot = 0; slot < NUM_EDGES; slot++) {
+			int thatValue = slotValue(that.edges, slot);
+			int thisValue = slotValue(this.edges, thatValue & EDGE_INDEX_MASK);
+			int orientation = ((thisValue >>> EDGE_INDEX_BITS) + (thatValue >>> EDGE_INDEX_BITS))
+				% EDGE_ORIENTATIONS;
+			composedEdges |= (long) edgeValue(thisValue & EDGE_INDEX_MASK, orientation)
+				<< (BITS_PER_SLOT * slot);
+		}
+		return new Cube(composedCorners, composedEdges);
+	}
+
+	/**
+	 * Returns a new Cube in the state reached by undoing, on a solved cube, the
+	 * turns that reach this Cube, last turn first. Composing a Cube with its
+	 * inverse gives a solved cube.
+	 */
+	public Cube inverse() {
+		// The cublet in each slot goes back to the slot it came from, untwisted
+		long inverseCorners = 0;
+		for (int slot = 0; slot < NUM_CORNERS; slot++) {
+			int value = slotValue(corners, slot);
+			int orientation = (CORNER_ORIENTATIONS - (value >>> CORNER_INDEX_BITS)) % CORNER_ORIENTATIONS;
+			inverseCorners |= (long) cornerValue(slot, orientation)
+				<< (BITS_PER_SLOT * (value & CORNER_INDEX_MASK));
+		}
+
+		long inverseEdges = 0;
+		for (int slot = 0; slot < NUM_EDGES; slot++) {
+			int value = slotValue(edges, slot);
+			inverseEdges |= (long) edgeValue(slot, value >>> EDGE_INDEX_BITS)
+				<< (BITS_PER_SLOT * (value & EDGE_INDEX_MASK));
+		}
+		return new Cube(inverseCorners, inverseEdges);
+	}
+
+	/**
+	 * Makes the given move on this Cube itself instead of returning a new Cube.
+	 * Only for searches that walk a single working Cube through the search tree
+	 * and undo each move afterwards.
+	 */
+	void turnInPlace(int move) {
+		long turnedCorners = Side.turnCorners(corners, move);
+		long turnedEdges   = Side.turnEdges(edges, move);
+		hash 	= Side.turnHash(hash, corners, turnedCorners, edges, turnedEdges, move);
+		corners = turnedCorners;
+		edges 	= turnedEdges;
+	}
+
+	/**
+	 * Returns a 64-bit hash of this Cube's state, for tables keyed on cube states.
+	 * It is a Zobrist hash, kept up to date as the cube is turned rather than
+	 * computed when asked for, so it costs nothing to get.
+	 */
+	public long stateHash() {
+		return hash;
+	}
+
 	/**
 	 * Return whether this Cube is the same as that Cube
 	 */
 	public boolean equals(Cube that) {
-		for (int x = 0; x < GRID_SIZE; x++) {
-			for (int y = 0; y < GRID_SIZE; y++) {
-				for (int z = 0; z < GRID_SIZE; z++) {
-					if (!this.cublets[x][y][z].equals(that.cublets[x][y][z]))
-						return false;
-				}
-			}
-		}
+		return this.corners == that.corners && this.edges == that.edges;
+	}
 
-		return true;
+	/**
+	 * Return whether this Cube is the same as the given object
+	 */
+	@Override
+	public boolean equals(Object that) {
+		if (this == that) return true;
+		if (!(that instanceof Cube)) return false;
+		return equals((Cube) that);
+	}
+
+	/**
+	 * Returns a hash code consistent with equals(), from the state hash
+	 */
+	@Override
+	public int hashCode() {
+		return (int) (hash ^ (hash >>> 32));
 	}
 
 	/**
@@ -448,7 +787,8 @@ public class Cube {
 					}
 
 					// Combine the cublet's label with the cublet's string
-					s.append(cubletLabel + "\n" + cublets[x][y][z].toString() + "\n\n");
+					Cublet cublet = getCublet(new XCoordinate(x), new YCoordinate(y), new ZCoordinate(z));
+					s.append(cubletLabel + "\n" + cublet.toString() + "\n\n");
 				}
 			}
 		}
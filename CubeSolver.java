@@ -9,86 +9,68 @@
 * implemented so that the distance heuristic is defined using a separate interface.
 * Thus, this solver program can be easily adapted to use any distane heuristic that
 * implements that interface (see DistanceHeuristic).
+*
+* By default the solver runs a greedy best-first search, ordering cubes by distance
+* alone. It can also run a true A* search, ordering cubes by the number of turns
+* made so far plus the (optionally weighted) distance (see SolverOptions). When the
+* DistanceHeuristic is an IncrementalDistanceHeuristic, the distance of each
+* neighbor is updated from the cube it was reached from rather than computed anew.
 ***********************************************************************************/
 
-import edu.princeton.cs.algs4.MinPQ;
-import edu.princeton.cs.algs4.Stack;
-
 public class CubeSolver {
 
 	// Instance variables
 
-	/**
-	 * The NeighborNode holding the current state of the Cube being solved
-	 */
-	private NeighborNode neighborNode;
-
 	/**
 	 * The DistanceHeuristic providing the definition of distance on cubes for this
 	 * solver
 	 */
 	private DistanceHeuristic distanceHeuristic;
-	
+
 	/**
-	 * A min-priority-queue of NeighborNodes that uses a DistanceHeuristic to
-	 * compare priority of the Cubes contained in the NeighborNodes
+	 * The same heuristic if its distance can be updated as cubes are turned, or
+	 * else null (see IncrementalDistanceHeuristic)
 	 */
-	private MinPQ<NeighborNode> neighborsPQ;
+	private IncrementalDistanceHeuristic incrementalHeuristic;
 
 	/**
-	 * The string representation of the algorithm to solve the cube, as a 
-	 * comma-separated list of turns
+	 * The settings this solver runs with
 	 */
-	private String solveAlgorithm;
-
-
-	// Helper classes
+	private SolverOptions options;
 
 	/**
-	 * A container with a reference to a neighbor Cube and the turn made to get to
-	 * that neighbor from the preceding Cube
+	 * Every node reached in the search: the state of its Cube, the node and turn it
+	 * was reached from, the number of turns made to reach it, its distance, and the
+	 * state of the sequence of turns made (see CanonicalMoves)
 	 */
-	private class NeighborContainer {
-		private Cube neighbor;
-		private String turn;
-
-		private NeighborContainer(Cube neighbor, String turn) {
-			this.neighbor = neighbor;
-			this.turn = turn;
-		}
-	}
+	private NodeStore nodes;
 	
+	/**
+	 * A min-priority-queue of the nodes reached but not yet expanded, ordered by
+	 * their priority (see OpenList)
+	 */
+	private OpenList neighborsPQ;
 
 	/**
-	 * A container with a reference to the current Cube and the neighbor that
-	 * preceded it
+	 * The states reached so far and the smallest depth each was reached at, or
+	 * null if visited states are not recorded
 	 */
-	private class NeighborNode implements Comparable<NeighborNode> {
-		private NeighborContainer neighborContainer;
-		private NeighborNode prev;
+	private TranspositionTable visited;
 
-		private NeighborNode(NeighborContainer neighborContainer, NeighborNode prev) {
-			this.neighborContainer = neighborContainer;
-			this.prev = prev;
-		}
+	/**
+	 * The counters describing the search
+	 */
+	private SearchMetrics metrics = new SearchMetrics();
 
-		/**
-		 * Using the DistanceHeuristic of the CubeSolver (outer class) as a
-		 * definition of distance, returns greater than 0 if the cube represented by
-		 * this NeighborNode has greater distance than that of the other
-		 * NeighborNode, less than 0 if it has smaller distance, and 0 if they have
-		 * the same distance
-		 */
-		public int compareTo(NeighborNode that) {
-			Cube thisCube = this.neighborContainer.neighbor;
-			Cube thatCube = that.neighborContainer.neighbor;
-			int cmp = distanceHeuristic.distance(thisCube) - distanceHeuristic.distance(thatCube);
-			if 		(cmp > 0) return +1;
-			else if (cmp < 0) return -1;
-			else 			  return  0;
-		}
-		
-	}
+	/**
+	 * The time, node and memory limits the search is checked against
+	 */
+	private SearchLimits limits;
+
+	/**
+	 * How the search ended, with the solution or the best progress made
+	 */
+	private SolveResult result;
 
 
 	// Constructors
@@ -99,72 +81,156 @@ public class CubeSolver {
 	 * invalid or not solvable.
 	 */
 	public CubeSolver(Cube cube, DistanceHeuristic distanceHeuristic) {
-		if (cube == null || distanceHeuristic == null)
+		this(cube, distanceHeuristic, new SolverOptions());
+	}
+
+	/**
+	 * Initializes a CubeSolver, and solves the given Cube using the given
+	 * DistanceHeuristic and settings. Throws an error if the Cube is invalid. If
+	 * the search hits one of the limits in the settings, or runs out of nodes to
+	 * expand, it stops there, and getResult() holds the best progress it made.
+	 */
+	public CubeSolver(Cube cube, DistanceHeuristic distanceHeuristic, SolverOptions options) {
+		if (cube == null || distanceHeuristic == null || options == null)
 			throw new NullPointerException("Arguments are null");
 
+		SearchMetrics.SearchEvent event = new SearchMetrics.SearchEvent();
+		event.begin();
+
 		this.distanceHeuristic 	= distanceHeuristic;
-		this.neighborNode		= new NeighborNode(new NeighborContainer(new Cube(cube), null), null);
-		this.neighborsPQ 		= new MinPQ<NeighborNode>();
+		if (distanceHeuristic instanceof IncrementalDistanceHeuristic)
+			this.incrementalHeuristic = (IncrementalDistanceHeuristic) distanceHeuristic;
+		this.options 			= options;
+		this.nodes 				= new NodeStore();
+		this.neighborsPQ 		= (options.getOpenList() == SolverOptions.BUCKETS)
+									? new BucketOpenList()
+									: new HeapOpenList();
+		if (options.getTranspositionTableCapacity() > 0) {
+			this.visited = new TranspositionTable(options.getTranspositionTableCapacity(),
+				options.getEvictionPolicy());
+			visited.visit(visitedKey(cube), 0);
+		}
 
 		// Solve the cube
-		Cube workingCube = neighborNode.neighborContainer.neighbor;
+		this.limits = new SearchLimits(options);
+		Cube workingCube = new Cube(cube);
+		int node;
+		if (incrementalHeuristic != null) {
+			long score = incrementalHeuristic.score(workingCube);
+			node = nodes.add(workingCube, NodeStore.NONE, NodeStore.NONE,
+				incrementalHeuristic.distanceOf(score), CanonicalMoves.START, score);
+		} else {
+			node = nodes.add(workingCube, NodeStore.NONE, NodeStore.NONE,
+				distanceHeuristic.distance(workingCube), CanonicalMoves.START);
+		}
+		int bestNode = node;	// the node with the smallest distance reached
+		int status = SearchLimits.WITHIN_LIMITS;
+		metrics.generated(0, 0);
 		while (!workingCube.isSolved()) {
-		    for (NeighborContainer neighborContainer : neighbors(workingCube)) {
-		    	neighborsPQ.insert(new NeighborNode(neighborContainer, neighborNode));
+		    status = limits.check(metrics.getNodesExpanded(), nodes, neighborsPQ);
+		    if (status != SearchLimits.WITHIN_LIMITS) break;
+		    metrics.expanded();
+		    int depth = nodes.getDepth(node) + 1;
+
+		    // Update the cube's stored score for each neighbor
+		    long score = nodes.getScore(node);
+
+		    for (int move : Side.QUARTER_TURNS) {
+		    	// Never make a redundant sequence of moves
+		    	int sequenceState = CanonicalMoves.next(nodes.getSequenceState(node), move);
+		    	if (sequenceState == CanonicalMoves.REDUNDANT) continue;
+
+		    	long time = clock();
+		    	long neighborScore = 0;
+		    	if (incrementalHeuristic != null)
+		    		neighborScore = incrementalHeuristic.update(score, workingCube, move);
+		    	metrics.addHeuristicNanos(clock() - time);
+
+		    	time = clock();
+		    	workingCube.turnInPlace(move);
+		    	metrics.addTurnNanos(clock() - time);
+
+		    	// Skip states already reached in as few turns
+		    	if (visited == null || visited.visit(visitedKey(workingCube), depth)) {
+		    		time = clock();
+		    		int distance = (incrementalHeuristic != null)
+		    			? incrementalHeuristic.distanceOf(neighborScore)
+		    			: distanceHeuristic.distance(workingCube);
+		    		metrics.addHeuristicNanos(clock() - time);
+
+		    		int neighbor = (incrementalHeuristic != null)
+		    			? nodes.add(workingCube, node, move, distance, sequenceState, neighborScore)
+		    			: nodes.add(workingCube, node, move, distance, sequenceState);
+		    		if (distance < nodes.getDistance(bestNode)) bestNode = neighbor;
+		    		time = clock();
+		    		neighborsPQ.insert(neighbor, priority(depth, distance), distance);
+		    		metrics.addQueueNanos(clock() - time);
+		    		metrics.generated(depth, neighborsPQ.size());
+		    	} else {
+		    		metrics.duplicate();
+		    	}
+
+		    	time = clock();
+		    	workingCube.turnInPlace(Side.inverse(move));
+		    	metrics.addTurnNanos(clock() - time);
 		    }
-		    neighborNode = neighborsPQ.delMin();
-		    workingCube = neighborNode.neighborContainer.neighbor;
-		}
 
-		// Retrace the algorithm
-		Stack<String> algorithm = new Stack<String>();
-		while (neighborNode != null) {
-			algorithm.push(neighborNode.neighborContainer.turn);
-			neighborNode = neighborNode.prev;
+		    if (neighborsPQ.isEmpty()) {
+		    	status = SolveResult.EXHAUSTED;
+		    	break;
+		    }
+		    long time = clock();
+		    node = neighborsPQ.delMin();
+		    metrics.addQueueNanos(clock() - time);
+		    time = clock();
+		    workingCube = nodes.cube(node);
+		    metrics.addTurnNanos(clock() - time);
+		}
+		if (status == SearchLimits.WITHIN_LIMITS) {
+			status = SolveResult.SOLVED;
+			bestNode = node;
 		}
 
-		StringBuilder s = new StringBuilder();
-		for (String turn : algorithm) {
-			s.append(turn + ",");
+		event.end();
+		if (event.shouldCommit()) {
+			event.set(metrics, nodes.getDepth(bestNode));
+			event.commit();
 		}
-		s.deleteCharAt(s.length() - 1);	// remove lingering comma
-		this.solveAlgorithm = s.toString();
+
+		// Retrace the algorithm, or the best progress made
+		String bestAlgorithm = Side.movesToString(nodes.path(bestNode));
+		this.result = new SolveResult(status, (status == SolveResult.SOLVED) ? bestAlgorithm : null,
+			nodes.cube(bestNode), bestAlgorithm, nodes.getDistance(bestNode));
 	}
 
 
 	// Helper methods
 
 	/**
-	 * Returns the NeighborContainers for all the neighbors of the provided Cube -
-	 * that is, all the Cubes that can be reached from the one provided by making a
-	 * single turn
-	 */
-	private Iterable<NeighborContainer> neighbors(Cube cube) {
-		Stack<NeighborContainer> neighbors = new Stack<NeighborContainer>();
-		XCoordinate[] sidesX = { Cube.B, Cube.F };
-		YCoordinate[] sidesY = { Cube.L, Cube.R };
-		ZCoordinate[] sidesZ = { Cube.D, Cube.U };
-
-		int sidesPerAxis = sidesX.length;
-		for (int i = 0; i < sidesPerAxis; i++) {
-			// Clockwise turns
-			Cube cwX = cube.turnClockwise(sidesX[i]);
-			Cube cwY = cube.turnClockwise(sidesY[i]);
-			Cube cwZ = cube.turnClockwise(sidesZ[i]);
-			neighbors.push(new NeighborContainer(cwX, Cube.clockwiseTurnToString(sidesX[i])));
-			neighbors.push(new NeighborContainer(cwY, Cube.clockwiseTurnToString(sidesY[i])));
-			neighbors.push(new NeighborContainer(cwZ, Cube.clockwiseTurnToString(sidesZ[i])));
-
-			// Counter-clockwise turns
-			Cube ccwX = cube.turnCounterClockwise(sidesX[i]);
-			Cube ccwY = cube.turnCounterClockwise(sidesY[i]);
-			Cube ccwZ = cube.turnCounterClockwise(sidesZ[i]);
-			neighbors.push(new NeighborContainer(ccwX, Cube.counterClockwiseTurnToString(sidesX[i])));
-			neighbors.push(new NeighborContainer(ccwY, Cube.counterClockwiseTurnToString(sidesY[i])));
-			neighbors.push(new NeighborContainer(ccwZ, Cube.counterClockwiseTurnToString(sidesZ[i])));
-		}
+	 * Returns the current time in nanoseconds if the search is timed, or else 0
+	 */
+	private long clock() {
+		return options.getSearchTimings() ? System.nanoTime() : 0;
+	}
 
-		return neighbors;
+	/**
+	 * Returns the priority of a node reached in the given number of turns with the
+	 * given distance: the distance in greedy mode, or the number of turns made plus
+	 * the weighted distance in A* mode
+	 */
+	private double priority(int depth, int distance) {
+		if (options.getSearchMode() == SolverOptions.GREEDY)
+			return distance;
+		return depth + options.getWeight() * distance;
+	}
+
+	/**
+	 * Returns the key of the given Cube in the table of visited states: its hash,
+	 * or the hash of the representative of its symmetry class (see Symmetry)
+	 */
+	private long visitedKey(Cube cube) {
+		if (options.getSymmetryReduction()) return Symmetry.representative(cube).stateHash();
+		return cube.stateHash();
 	}
 	
 
@@ -172,10 +238,32 @@ public class CubeSolver {
 
 	/**
 	 * Returns the algorithm for solving the cube as a string of moves in standard
-	 * cube notation
+	 * cube notation, or null if the search was cut off
 	 */
 	public String getSolveAlgorithm() {
-		return solveAlgorithm;
+		return result.getSolveAlgorithm();
+	}
+
+	/**
+	 * Returns how the search ended, with the solution or the best progress made
+	 * (see SolveResult)
+	 */
+	public SolveResult getResult() {
+		return result;
+	}
+
+	/**
+	 * Returns the number of cubes whose neighbors were searched
+	 */
+	public long getNodesExpanded() {
+		return metrics.getNodesExpanded();
+	}
+
+	/**
+	 * Returns the counters describing the search (see SearchMetrics)
+	 */
+	public SearchMetrics getMetrics() {
+		return metrics;
 	}
 	
 
@@ -184,11 +272,22 @@ public class CubeSolver {
 
 	/**
 	 * A client program that solves the cube from the filename and the name of the
-	 * distanceHeuristic passed as arguments
+	 * distanceHeuristic passed as arguments. If a weight is passed as a third
+	 * argument, the cube is solved with (weighted) A* instead of greedy search. If
+	 * the last argument is --metrics, the counters of the search are printed too.
 	 */
 	public static void main(String[] args) {
 		String filename = args[0];
 		String distanceHeuristicName = args[1];
+		boolean printMetrics = args[args.length - 1].equals("--metrics");
+		int numArgs = printMetrics ? args.length - 1 : args.length;
+
+		SolverOptions options = new SolverOptions();
+		if (numArgs > 2) {
+			options.setSearchMode(SolverOptions.A_STAR);
+			options.setWeight(Double.parseDouble(args[2]));
+		}
+		options.setSearchTimings(printMetrics);
 
 		// TODO: Is there a better way to initialize a DistanceHeuristic from arg?
 		DistanceHeuristic distanceHeuristic = null;
@@ -201,8 +300,13 @@ public class CubeSolver {
 		}
 		Cube cube = new Cube(filename);
 		System.out.println("Solving cube.....");
-		CubeSolver cubeSolver = new CubeSolver(cube, distanceHeuristic);
-		System.out.print("Solution: ");
-		System.out.println(cubeSolver.getSolveAlgorithm());
+		CubeSolver cubeSolver = new CubeSolver(cube, distanceHeuristic, options);
+		if (cubeSolver.getResult().isSolved()) {
+			System.out.print("Solution: ");
+			System.out.println(cubeSolver.getSolveAlgorithm());
+		} else {
+			System.out.println("No solution: " + cubeSolver.getResult());
+		}
+		if (printMetrics) System.out.println(cubeSolver.getMetrics());
 	}
 }
\ No newline at end of file
@@ -0,0 +1,272 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This is the superclass for DistanceHeuristics that add up a cost for
+* each corner and each edge on its own, and combine the corner sum and the edge sum
+* into a distance. The costs are looked up in tables indexed by (the slot a cublet
+* belongs in, the slot it is in, its orientation), so a distance is 20 array reads
+* and no allocation.
+*
+* The distance is also incremental (see IncrementalDistanceHeuristic): the score of
+* a cube holds its corner sum and edge sum, and a turn changes only the costs of the
+* 4 corners and 4 edges it moves. How much a turn changes the cost of a cublet
+* depends only on the cublet, its slot and the turn, so those changes are tabled
+* too, and an update is 8 array reads.
+*
+* A subclass defines the cost tables (see cornerEntry() and edgeEntry() for their
+* layout) and how the two sums are combined.
+***********************************************************************************/
+
+public abstract class CubletHeuristic implements IncrementalDistanceHeuristic {
+
+	// Constants
+
+	// Number of entries in a table of corner or edge costs
+	static final int CORNER_ENTRIES = Cube.NUM_CORNERS * Cube.NUM_CORNERS * Cube.CORNER_ORIENTATIONS;
+	static final int EDGE_ENTRIES 	= Cube.NUM_EDGES * Cube.NUM_EDGES * Cube.EDGE_ORIENTATIONS;
+
+	static final int CUBLETS_PER_TURN = 4;	// corners (or edges) moved by a turn
+
+	// The (slot, orientation) each move takes a single corner (or edge) to, for
+	// every (slot, orientation) it starts in (see buildSingleCubletTurns())
+	static final int[][] CORNER_TURNS = buildSingleCubletTurns(true);
+	static final int[][] EDGE_TURNS   = buildSingleCubletTurns(false);
+
+	// The corner (or edge) slots each move changes, CUBLETS_PER_TURN per move
+	private static final int[] MOVED_CORNERS = buildMovedSlots(CORNER_TURNS, Cube.CORNER_ORIENTATIONS);
+	private static final int[] MOVED_EDGES 	 = buildMovedSlots(EDGE_TURNS, Cube.EDGE_ORIENTATIONS);
+
+	// A score holds the corner sum in its high 32 bits and the edge sum in its low
+	private static final int SUM_BITS = 32;
+	private static final long SUM_MASK = (1L << SUM_BITS) - 1;
+
+
+	// Instance variables
+
+	private byte[] cornerCosts;	// cost of each corner, indexed by cornerEntry()
+	private byte[] edgeCosts;	// cost of each edge, indexed by edgeEntry()
+
+	// Change in the cost of the cublet in a slot when a move is made, indexed by
+	// the move, the slot and the slot's value (see deltaEntry())
+	private byte[] cornerDeltas;
+	private byte[] edgeDeltas;
+
+
+	// Abstract methods
+
+	/**
+	 * Returns the distance of a cube whose corner and edge costs add up to the
+	 * given sums
+	 */
+	protected abstract int combine(int cornerSum, int edgeSum);
+
+
+	// Constructors
+
+	/**
+	 * Construct a CubletHeuristic with the given tables of corner and edge costs
+	 */
+	protected CubletHeuristic(byte[] cornerCosts, byte[] edgeCosts) {
+		if (cornerCosts == null || edgeCosts == null)
+			throw new NullPointerException("Arguments are null");
+		if (cornerCosts.length != CORNER_ENTRIES || edgeCosts.length != EDGE_ENTRIES)
+			throw new IllegalArgumentException("Cost tables are the wrong size");
+
+		this.cornerCosts  = cornerCosts;
+		this.edgeCosts 	  = edgeCosts;
+		this.cornerDeltas = buildDeltas(cornerCosts, true);
+		this.edgeDeltas   = buildDeltas(edgeCosts, false);
+	}
+
+
+	// Helper methods
+
+	/**
+	 * Returns, for every move and every (slot, orientation) of a single corner (or
+	 * edge), flattened to slot * orientations + orientation, the (slot,
+	 * orientation) the move takes it to. How a cublet moves does not depend on
+	 * which cublet it is.
+	 */
+	private static int[][] buildSingleCubletTurns(boolean isCorners) {
+		int numSlots 		= isCorners ? Cube.NUM_CORNERS : Cube.NUM_EDGES;
+		int numOrientations = isCorners ? Cube.CORNER_ORIENTATIONS : Cube.EDGE_ORIENTATIONS;
+		int indexBits 		= isCorners ? Cube.CORNER_INDEX_BITS : Cube.EDGE_INDEX_BITS;
+		int indexMask 		= isCorners ? Cube.CORNER_INDEX_MASK : Cube.EDGE_INDEX_MASK;
+		long solved 		= isCorners ? Cube.SOLVED_CORNERS : Cube.SOLVED_EDGES;
+
+		int[][] next = new int[Side.NUM_MOVES][numSlots * numOrientations];
+		for (int slot = 0; slot < numSlots; slot++) {
+			for (int orientation = 0; orientation < numOrientations; orientation++) {
+				// Follow the cublet of a solved cube in this slot, turned in place
+				int shift = Cube.BITS_PER_SLOT * slot;
+				long state = (solved & ~((long) Cube.SLOT_MASK << shift))
+					| ((long) (slot | (orientation << indexBits)) << shift);
+				for (int move = 0; move < Side.NUM_MOVES; move++) {
+					long turned = isCorners ? Side.turnCorners(state, move) : Side.turnEdges(state, move);
+					for (int to = 0; to < numSlots; to++) {
+						int value = Cube.slotValue(turned, to);
+						if ((value & indexMask) == slot)
+							next[move][slot * numOrientations + orientation] = to * numOrientations
+								+ (value >>> indexBits);
+					}
+				}
+			}
+		}
+		return next;
+	}
+
+	/**
+	 * Returns the slots each move changes, found from the given single cublet
+	 * turns (the slots whose cublet leaves them)
+	 */
+	private static int[] buildMovedSlots(int[][] turns, int numOrientations) {
+		int numSlots = turns[0].length / numOrientations;
+		int[] moved = new int[Side.NUM_MOVES * CUBLETS_PER_TURN];
+		for (int move = 0; move < Side.NUM_MOVES; move++) {
+			int numMoved = 0;
+			for (int slot = 0; slot < numSlots; slot++) {
+				if (turns[move][slot * numOrientations] / numOrientations != slot)
+					moved[move * CUBLETS_PER_TURN + numMoved++] = slot;
+			}
+		}
+		return moved;
+	}
+
+	/**
+	 * Returns the table of the change in cost of the cublet in each slot when each
+	 * move is made, from the given table of corner (or edge) costs
+	 */
+	private static byte[] buildDeltas(byte[] costs, boolean isCorners) {
+		int numSlots 		= isCorners ? Cube.NUM_CORNERS : Cube.NUM_EDGES;
+		int numOrientations = isCorners ? Cube.CORNER_ORIENTATIONS : Cube.EDGE_ORIENTATIONS;
+		int indexBits 		= isCorners ? Cube.CORNER_INDEX_BITS : Cube.EDGE_INDEX_BITS;
+		int[][] turns 		= isCorners ? CORNER_TURNS : EDGE_TURNS;
+
+		byte[] deltas = new byte[deltaEntry(Side.NUM_MOVES, 0, 0, numSlots)];
+		for (int move = 0; move < Side.NUM_MOVES; move++) {
+			for (int slot = 0; slot < numSlots; slot++) {
+				for (int orientation = 0; orientation < numOrientations; orientation++) {
+					int turned = turns[move][slot * numOrientations + orientation];
+					int to = turned / numOrientations;
+					for (int home = 0; home < numSlots; home++) {
+						int before = costs[(home * numSlots + slot) * numOrientations + orientation];
+						int after = costs[(home * numSlots + to) * numOrientations
+							+ turned % numOrientations];
+						int value = home | (orientation << indexBits);
+						deltas[deltaEntry(move, slot, value, numSlots)] = (byte) (after - before);
+					}
+				}
+			}
+		}
+		return deltas;
+	}
+
+	/**
+	 * Returns the index in a table of changes in cost of the given move, slot and
+	 * slot value, for corners or edges with the given number of slots
+	 */
+	private static int deltaEntry(int move, int slot, int value, int numSlots) {
+		return ((move * numSlots + slot) << Cube.BITS_PER_SLOT) | value;
+	}
+
+	/**
+	 * Returns the cost of the corner with the given slot value in the given slot
+	 */
+	private int cornerCost(int slot, int value) {
+		return cornerCosts[cornerEntry(value & Cube.CORNER_INDEX_MASK, slot,
+			value >>> Cube.CORNER_INDEX_BITS)];
+	}
+
+	/**
+	 * Returns the cost of the edge with the given slot value in the given slot
+	 */
+	private int edgeCost(int slot, int value) {
+		return edgeCosts[edgeEntry(value & Cube.EDGE_INDEX_MASK, slot,
+			value >>> Cube.EDGE_INDEX_BITS)];
+	}
+
+
+	// Methods
+
+	/**
+	 * Returns the distance from the given cube to a solved cube
+	 */
+	public int distance(Cube cube) {
+		return combine(cornerSum(cube.corners()), edgeSum(cube.edges()));
+	}
+
+	/**
+	 * Returns the score of the given cube: its corner sum and edge sum
+	 */
+	public long score(Cube cube) {
+		return ((long) cornerSum(cube.corners()) << SUM_BITS) | edgeSum(cube.edges());
+	}
+
+	/**
+	 * Returns the score of the given cube after making the given move, from its
+	 * score before the move, by adding the change in cost of each moved cublet
+	 */
+	public long update(long score, Cube cube, int move) {
+		long corners = cube.corners();
+		long edges = cube.edges();
+		int cornerSum = (int) (score >>> SUM_BITS);
+		int edgeSum = (int) (score & SUM_MASK);
+		for (int i = 0; i < CUBLETS_PER_TURN; i++) {
+			int slot = MOVED_CORNERS[move * CUBLETS_PER_TURN + i];
+			cornerSum += cornerDeltas[deltaEntry(move, slot, Cube.slotValue(corners, slot), Cube.NUM_CORNERS)];
+			slot = MOVED_EDGES[move * CUBLETS_PER_TURN + i];
+			edgeSum += edgeDeltas[deltaEntry(move, slot, Cube.slotValue(edges, slot), Cube.NUM_EDGES)];
+		}
+		return ((long) cornerSum << SUM_BITS) | edgeSum;
+	}
+
+	/**
+	 * Returns the distance of a cube with the given score
+	 */
+	public int distanceOf(long score) {
+		return combine((int) (score >>> SUM_BITS), (int) (score & SUM_MASK));
+	}
+
+	/**
+	 * Returns the sum of the costs of the corners in the given packed state
+	 */
+	int cornerSum(long corners) {
+		int sum = 0;
+		for (int slot = 0; slot < Cube.NUM_CORNERS; slot++) {
+			sum += cornerCost(slot, Cube.slotValue(corners, slot));
+		}
+		return sum;
+	}
+
+	/**
+	 * Returns the sum of the costs of the edges in the given packed state
+	 */
+	int edgeSum(long edges) {
+		int sum = 0;
+		for (int slot = 0; slot < Cube.NUM_EDGES; slot++) {
+			sum += edgeCost(slot, Cube.slotValue(edges, slot));
+		}
+		return sum;
+	}
+
+
+	// Static methods
+
+	/**
+	 * Returns the index in a table of corner costs of the corner that belongs in
+	 * the given slot, when it is in the given slot with the given orientation
+	 */
+	static int cornerEntry(int home, int slot, int orientation) {
+		return (home * Cube.NUM_CORNERS + slot) * Cube.CORNER_ORIENTATIONS + orientation;
+	}
+
+	/**
+	 * Returns the index in a table of edge costs of the edge that belongs in the
+	 * given slot, when it is in the given slot with the given orientation
+	 */
+	static int edgeEntry(int home, int slot, int orientation) {
+		return (home * Cube.NUM_EDGES + slot) * Cube.EDGE_ORIENTATIONS + orientation;
+	}
+
+}
@@ -0,0 +1,242 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This is a pattern database (see PatternDatabase) for a group of up
+* to 7 of the 12 edges. It holds the exact number of quarter turns needed to put
+* just those edges in place, from every arrangement of their positions and
+* orientations. A group of 6 edges has 12!/6! * 2^6 = 42,577,920 states (a 21 MB
+* file); a group of 7 has 12!/5! * 2^7 = 510,935,040 states (255 MB).
+*
+* The edges are identified by their index in the packed cube state (see Cube). The
+* two default groups split the 12 edges in half, so together with the corners they
+* cover the whole cube (see PatternDatabaseHeuristic).
+*
+* Run this class as a program to generate the files before solving with them.
+***********************************************************************************/
+
+import java.util.Arrays;
+
+public class EdgePatternDatabase extends PatternDatabase {
+
+	// Constants
+
+	public static final int MAX_GROUP_SIZE = 7;
+
+	// Two disjoint groups of 6 edges that cover every edge
+	public static final int[] DEFAULT_GROUP_1 = { 0, 1, 2, 3, 4, 5 };
+	public static final int[] DEFAULT_GROUP_2 = { 6, 7, 8, 9, 10, 11 };
+
+	private static final int EDGE_COLORS = 2;
+
+	// Index stored in the slots of edges outside the group when the table is built
+	private static final int UNTRACKED = Cube.EDGE_INDEX_MASK;
+
+
+	// Instance variables
+
+	private int[] group;			// the edges in this pattern, in increasing order
+	private int[] positionInGroup;	// for every edge index, its position in group (or -1)
+	private long numPlacements;		// ways to place the group's edges: 12!/(12 - k)!
+
+
+	// Constructors
+
+	/**
+	 * Construct an EdgePatternDatabase for the given group of edges from its
+	 * default file (see defaultFilename())
+	 */
+	public EdgePatternDatabase(int[] group) {
+		this(group, defaultFilename(group));
+	}
+
+	/**
+	 * Construct an EdgePatternDatabase for the given group of edges from the given
+	 * file
+	 */
+	public EdgePatternDatabase(int[] group, String filename) {
+		setGroup(group);
+		load(filename);
+	}
+
+	/**
+	 * Construct an EdgePatternDatabase for the given group of edges by building
+	 * its table
+	 */
+	private EdgePatternDatabase(int[] group, boolean build) {
+		setGroup(group);
+		build();
+	}
+
+
+	// Helper methods
+
+	/**
+	 * Validates and stores the group of edges in this pattern
+	 */
+	private void setGroup(int[] group) {
+		if (group == null)
+			throw new NullPointerException("Edge group is null");
+		if (group.length == 0 || group.length > MAX_GROUP_SIZE)
+			throw new IllegalArgumentException("Edge group must have 1 to " + MAX_GROUP_SIZE + " edges");
+
+		this.group = group.clone();
+		Arrays.sort(this.group);
+		this.positionInGroup = new int[Cube.EDGE_INDEX_MASK + 1];
+		Arrays.fill(positionInGroup, -1);
+		for (int i = 0; i < this.group.length; i++) {
+			int edge = this.group[i];
+			if (edge < 0 || edge >= Cube.NUM_EDGES || positionInGroup[edge] != -1)
+				throw new IllegalArgumentException("Edge group must be distinct edges from 0 to 11");
+			positionInGroup[edge] = i;
+		}
+
+		this.numPlacements = 1;
+		for (int i = 0; i < this.group.length; i++) {
+			numPlacements *= Cube.NUM_EDGES - i;
+		}
+	}
+
+
+	// Pattern definition
+
+	protected long size() {
+		return numPlacements << group.length;
+	}
+
+	protected long stateOf(Cube cube) {
+		return cube.edges();
+	}
+
+	protected long indexOf(long edges) {
+		// Find the slot and orientation of each edge in the group
+		int[] slots = new int[group.length];
+		int orientation = 0;
+		for (int slot = 0; slot < Cube.NUM_EDGES; slot++) {
+			int value = Cube.slotValue(edges, slot);
+			int i = positionInGroup[value & Cube.EDGE_INDEX_MASK];
+			if (i == -1) continue;
+
+			slots[i] = slot;
+			orientation |= (value >>> Cube.EDGE_INDEX_BITS) << i;
+		}
+
+		// Rank the slots as a partial permutation: each digit counts the free slots
+		// below the one taken
+		long placement = 0;
+		int seen = 0;
+		for (int i = 0; i < group.length; i++) {
+			placement = placement * (Cube.NUM_EDGES - i) + Utilities.lehmerDigit(slots[i], seen);
+			seen |= 1 << slots[i];
+		}
+		return (placement << group.length) | orientation;
+	}
+
+	protected long stateAt(long index) {
+		int orientation = (int) (index & ((1 << group.length) - 1));
+		long placement 	= index >>> group.length;
+
+		// Recover the digits, last first
+		int[] digits = new int[group.length];
+		for (int i = group.length - 1; i >= 0; i--) {
+			digits[i] = (int) (placement % (Cube.NUM_EDGES - i));
+			placement /= Cube.NUM_EDGES - i;
+		}
+
+		// Fill every slot with an untracked edge, then place the group's edges
+		long edges = 0;
+		for (int slot = 0; slot < Cube.NUM_EDGES; slot++) {
+			edges |= (long) Cube.edgeValue(UNTRACKED, 0) << (Cube.BITS_PER_SLOT * slot);
+		}
+		int seen = 0;
+		for (int i = 0; i < group.length; i++) {
+			// Take the digits[i]-th free slot
+			int slot = 0;
+			for (int skip = digits[i]; (seen & (1 << slot)) != 0 || skip > 0; slot++) {
+				if ((seen & (1 << slot)) == 0) skip--;
+			}
+			seen |= 1 << slot;
+
+			int shift = Cube.BITS_PER_SLOT * slot;
+			int value = Cube.edgeValue(group[i], (orientation >>> i) & 1);
+			edges = (edges & ~((long) Cube.SLOT_MASK << shift)) | ((long) value << shift);
+		}
+		return edges;
+	}
+
+	protected long turn(long edges, int move) {
+		return Side.turnEdges(edges, move);
+	}
+
+	protected long solvedState() {
+		return Cube.SOLVED_EDGES;
+	}
+
+	protected int signature() {
+		int edges = 0;
+		for (int edge : group) {
+			edges |= 1 << edge;
+		}
+		return edges;
+	}
+
+
+	// Static methods
+
+	/**
+	 * Returns the default file name of the database for the given group of edges,
+	 * e.g. "edges-0-1-2-3-4-5.pdb"
+	 */
+	public static String defaultFilename(int[] group) {
+		int[] sorted = group.clone();
+		Arrays.sort(sorted);
+		StringBuilder s = new StringBuilder("edges");
+		for (int edge : sorted) {
+			s.append("-" + edge);
+		}
+		return s.append(".pdb").toString();
+	}
+
+	/**
+	 * Builds the pattern database for the given group of edges and writes it to
+	 * the given file
+	 */
+	public static EdgePatternDatabase generate(int[] group, String filename) {
+		EdgePatternDatabase database = new EdgePatternDatabase(group, true);
+		database.save(filename);
+		return database;
+	}
+
+
+	// Client
+
+	/**
+	 * A client program that generates edge pattern databases. With no arguments,
+	 * it generates both default groups into their default files; otherwise the
+	 * arguments are the edges of one group.
+	 */
+	public static void main(String[] args) {
+		int[][] groups;
+		if (args.length == 0) {
+			groups = new int[][] { DEFAULT_GROUP_1, DEFAULT_GROUP_2 };
+		} else {
+			int[] group = new int[args.length];
+			for (int i = 0; i < args.length; i++) {
+				group[i] = Integer.parseInt(args[i]);
+			}
+			groups = new int[][] { group };
+		}
+
+		for (int[] group : groups) {
+			String filename = defaultFilename(group);
+			System.out.println("Generating edge pattern database " + filename + ".....");
+			EdgePatternDatabase database = generate(group, filename);
+
+			long[] statesAtDistance = database.getStatesAtDistance();
+			for (int distance = 0; distance < statesAtDistance.length; distance++) {
+				if (statesAtDistance[distance] > 0)
+					System.out.println(distance + " turns: " + statesAtDistance[distance] + " states");
+			}
+		}
+	}
+}
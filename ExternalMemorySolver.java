@@ -0,0 +1,591 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This is a Rubik's Cube solver object for searches whose frontier
+* does not fit in memory. It runs a breadth-first iterative-deepening A* search:
+* like IDAStarSolver it raises a bound on turns made + distance until a solution
+* is found, but within each bound it searches breadth-first, one layer of depth at
+* a time, and keeps the layers in files instead of memory.
+*
+* Each layer is expanded by reading its file in order. The neighbors within the
+* bound are collected in a buffer of runCapacity records, which is sorted by state
+* and written to a run file whenever it fills. Once the layer is expanded, the runs
+* are merged into the file of the next layer, and duplicate states are dropped as
+* they meet in the merge (delayed duplicate detection): states reached twice in the
+* layer, and states already in the current or previous layer. (A neighbor of a
+* layer can be in no earlier layer, since each turn can be undone.)
+*
+* Each record holds a cube's packed state and the quarter turns made to reach it,
+* 32 bytes in all. The files are read and written through FileChannels with large
+* buffers, in a temporary directory that is deleted when the solve ends. With an
+* admissible DistanceHeuristic the solution found is as short as possible.
+***********************************************************************************/
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.princeton.cs.algs4.MinPQ;
+
+public class ExternalMemorySolver {
+
+	// Constants
+
+	public static final int DEFAULT_RUN_CAPACITY = 1 << 20;	// 32 MB of records
+
+	// Longest solution a record can hold (every cube is solvable in 26 quarter turns)
+	public static final int MAX_DEPTH = 32;
+
+	private static final int RECORD_LONGS 	= 4;	// corners, edges and two longs of moves
+	private static final int RECORD_BYTES 	= RECORD_LONGS * Long.BYTES;
+	private static final int BUFFER_RECORDS = 1 << 12;	// records per read or write
+	private static final int BITS_PER_MOVE 	= 4;	// moves are packed by quarter turn index
+	private static final int MOVES_PER_LONG = Long.SIZE / BITS_PER_MOVE;
+	private static final int MAX_MERGE_WAYS = 64;	// run files open at once in a merge
+	private static final int INSERTION_SORT_CUTOFF = 16;
+
+	// The index of each move in Side.QUARTER_TURNS, or -1 for half turns
+	private static final int[] QUARTER_TURN_INDEX = buildQuarterTurnIndex();
+
+
+	// Instance variables
+
+	/**
+	 * The DistanceHeuristic providing the definition of distance on cubes for this
+	 * solver
+	 */
+	private DistanceHeuristic distanceHeuristic;
+
+	/**
+	 * The directory holding the files of the search
+	 */
+	private File workDirectory;
+
+	/**
+	 * The records collected for the current run, RECORD_LONGS longs per record,
+	 * and the number of them
+	 */
+	private long[] run;
+	private int runSize;
+
+	/**
+	 * The run files written while expanding the current layer
+	 */
+	private List<File> runFiles = new ArrayList<File>();
+
+	/**
+	 * The smallest turns made + distance that exceeded the current bound
+	 */
+	private int nextBound;
+
+	/**
+	 * The moves of the solution, once found
+	 */
+	private int[] solution;
+
+	/**
+	 * The number of cubes whose neighbors were searched
+	 */
+	private long nodesExpanded;
+
+	/**
+	 * The string representation of the algorithm to solve the cube, as a
+	 * comma-separated list of turns
+	 */
+	private String solveAlgorithm;
+
+
+	// Helper classes
+
+	/**
+	 * Writes records to a file through a buffer
+	 */
+	private static class RecordWriter {
+		private FileChannel channel;
+		private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_BYTES);
+		private long count;
+
+		private RecordWriter(File file) throws IOException {
+			this.channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+		}
+
+		private void write(long corners, long edges, long moves0, long moves1) throws IOException {
+			if (!buffer.hasRemaining()) flush();
+			buffer.putLong(corners).putLong(edges).putLong(moves0).putLong(moves1);
+			count++;
+		}
+
+		private void flush() throws IOException {
+			buffer.flip();
+			while (buffer.hasRemaining()) channel.write(buffer);
+			buffer.clear();
+		}
+
+		private void close() throws IOException {
+			flush();
+			channel.close();
+		}
+	}
+
+	/**
+	 * Reads the records of a file in order through a buffer. The current record is
+	 * held in the fields, and readers compare by the state of their current record.
+	 */
+	private static class RecordReader implements Comparable<RecordReader> {
+		private FileChannel channel;
+		private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_BYTES);
+		private boolean hasRecord;
+		private long corners;
+		private long edges;
+		private long moves0;
+		private long moves1;
+
+		private RecordReader(File file) throws IOException {
+			this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+			buffer.limit(0);
+			advance();
+		}
+
+		/**
+		 * Reads the next record, if there is one
+		 */
+		private void advance() throws IOException {
+			if (!buffer.hasRemaining()) {
+				buffer.clear();
+				while (buffer.hasRemaining() && channel.read(buffer) >= 0);
+				buffer.flip();
+			}
+			hasRecord = buffer.hasRemaining();
+			if (!hasRecord) return;
+			corners = buffer.getLong();
+			edges 	= buffer.getLong();
+			moves0 	= buffer.getLong();
+			moves1 	= buffer.getLong();
+		}
+
+		/**
+		 * Reads past every record with a smaller state than the given one, and
+		 * returns whether the next record has the given state
+		 */
+		private boolean skipTo(long corners, long edges) throws IOException {
+			while (hasRecord && compareStates(this.corners, this.edges, corners, edges) < 0) advance();
+			return hasRecord && this.corners == corners && this.edges == edges;
+		}
+
+		private void close() throws IOException {
+			channel.close();
+		}
+
+		public int compareTo(RecordReader that) {
+			return compareStates(this.corners, this.edges, that.corners, that.edges);
+		}
+	}
+
+
+	// Constructors
+
+	/**
+	 * Initializes an ExternalMemorySolver, and solves the given Cube using the
+	 * given DistanceHeuristic, keeping its files in the system's temporary
+	 * directory. Throws an error if the Cube is invalid or not solvable.
+	 */
+	public ExternalMemorySolver(Cube cube, DistanceHeuristic distanceHeuristic) {
+		this(cube, distanceHeuristic, new File(System.getProperty("java.io.tmpdir")),
+			DEFAULT_RUN_CAPACITY);
+	}
+
+	/**
+	 * Initializes an ExternalMemorySolver, and solves the given Cube using the
+	 * given DistanceHeuristic, keeping its files in a new directory inside the given
+	 * one and sorting runCapacity records in memory at a time. Throws an error if
+	 * the Cube is invalid or not solvable, or if the files cannot be written.
+	 */
+	public ExternalMemorySolver(Cube cube, DistanceHeuristic distanceHeuristic, File directory,
+			int runCapacity) {
+		if (cube == null || distanceHeuristic == null || directory == null)
+			throw new NullPointerException("Arguments are null");
+		if (runCapacity <= 0 || runCapacity > Integer.MAX_VALUE / RECORD_LONGS)
+			throw new IllegalArgumentException("Run capacity must be between 1 and "
+				+ Integer.MAX_VALUE / RECORD_LONGS);
+
+		this.distanceHeuristic = distanceHeuristic;
+		this.run 			   = new long[runCapacity * RECORD_LONGS];
+
+		try {
+			this.workDirectory = Files.createTempDirectory(directory.toPath(), "cube-search").toFile();
+			try {
+				solve(new Cube(cube));
+			} finally {
+				for (File file : workDirectory.listFiles()) file.delete();
+				workDirectory.delete();
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("Error in reading or writing search files", e);
+		}
+
+		// Read the algorithm off the solution
+		this.solveAlgorithm = Side.movesToString(solution);
+	}
+
+
+	// Helper methods
+
+	/**
+	 * Returns the table of the index of each move in Side.QUARTER_TURNS
+	 */
+	private static int[] buildQuarterTurnIndex() {
+		int[] index = new int[Side.NUM_MOVES];
+		for (int move = 0; move < Side.NUM_MOVES; move++) index[move] = -1;
+		for (int i = 0; i < Side.QUARTER_TURNS.length; i++) index[Side.QUARTER_TURNS[i]] = i;
+		return index;
+	}
+
+	/**
+	 * Compares two packed states, first by corners and then by edges
+	 */
+	private static int compareStates(long corners1, long edges1, long corners2, long edges2) {
+		int cmp = Long.compare(corners1, corners2);
+		return (cmp != 0) ? cmp : Long.compare(edges1, edges2);
+	}
+
+	/**
+	 * Returns the move at the given depth in the packed moves
+	 */
+	private static int moveAt(long moves0, long moves1, int depth) {
+		long moves = (depth < MOVES_PER_LONG) ? moves0 : moves1;
+		int shift = (depth % MOVES_PER_LONG) * BITS_PER_MOVE;
+		return Side.QUARTER_TURNS[(int) (moves >>> shift) & ((1 << BITS_PER_MOVE) - 1)];
+	}
+
+	/**
+	 * Returns the given long of packed moves with the given move added at the given
+	 * depth, if the depth falls in that long (the first long is 0, the second 1)
+	 */
+	private static long withMove(long moves, int which, int depth, int move) {
+		if (depth / MOVES_PER_LONG != which) return moves;
+		int shift = (depth % MOVES_PER_LONG) * BITS_PER_MOVE;
+		return moves | ((long) QUARTER_TURN_INDEX[move] << shift);
+	}
+
+	/**
+	 * Returns the first depth moves of the given packed moves
+	 */
+	private static int[] unpack(long moves0, long moves1, int depth) {
+		int[] moves = new int[depth];
+		for (int i = 0; i < depth; i++) moves[i] = moveAt(moves0, moves1, i);
+		return moves;
+	}
+
+	/**
+	 * Returns a new file in the work directory
+	 */
+	private File newFile(String prefix) throws IOException {
+		return File.createTempFile(prefix, ".bin", workDirectory);
+	}
+
+	/**
+	 * Searches breadth-first from the given cube, raising the bound until the
+	 * cube is solved
+	 */
+	private void solve(Cube cube) throws IOException {
+		if (cube.isSolved()) {
+			solution = new int[0];
+			return;
+		}
+
+		int bound = distanceHeuristic.distance(cube);
+		while (true) {
+			nextBound = Integer.MAX_VALUE;
+			File previous = null;
+			File current = newFile("layer");
+			RecordWriter start = new RecordWriter(current);
+			start.write(cube.corners(), cube.edges(), 0, 0);
+			start.close();
+
+			// Expand one layer at a time, until the bound leaves no layer to expand
+			for (int depth = 0; depth < MAX_DEPTH; depth++) {
+				expand(current, depth, bound);
+				if (solution != null) return;
+
+				File next = newFile("layer");
+				long count = merge(previous, current, next);
+				if (previous != null) previous.delete();
+				previous = current;
+				current = next;
+				if (count == 0) break;
+			}
+			if (previous != null) previous.delete();
+			current.delete();
+
+			if (nextBound == Integer.MAX_VALUE || nextBound > MAX_DEPTH)
+				throw new IllegalArgumentException("Cube cannot be solved in " + MAX_DEPTH + " turns");
+			bound = nextBound;
+		}
+	}
+
+	/**
+	 * Expands every cube in the given layer file, at the given depth, and writes
+	 * the neighbors within the bound to run files. Sets the solution if a neighbor
+	 * is solved.
+	 */
+	private void expand(File layer, int depth, int bound) throws IOException {
+		RecordReader reader = new RecordReader(layer);
+		try {
+			while (reader.hasRecord) {
+				Cube cube = new Cube(reader.corners, reader.edges);
+				int sequenceState = CanonicalMoves.START;
+				for (int i = 0; i < depth; i++) {
+					sequenceState = CanonicalMoves.next(sequenceState, moveAt(reader.moves0, reader.moves1, i));
+				}
+
+				nodesExpanded++;
+				for (int move : Side.QUARTER_TURNS) {
+					// Never make a redundant sequence of moves
+					if (CanonicalMoves.next(sequenceState, move) == CanonicalMoves.REDUNDANT) continue;
+
+					cube.turnInPlace(move);
+					long moves0 = withMove(reader.moves0, 0, depth, move);
+					long moves1 = withMove(reader.moves1, 1, depth, move);
+					if (cube.isSolved()) {
+						solution = unpack(moves0, moves1, depth + 1);
+						return;
+					}
+
+					int f = depth + 1 + distanceHeuristic.distance(cube);
+					if (f > bound) {
+						if (f < nextBound) nextBound = f;
+					} else {
+						addToRun(cube.corners(), cube.edges(), moves0, moves1);
+					}
+					cube.turnInPlace(Side.inverse(move));
+				}
+				reader.advance();
+			}
+			flushRun();
+		} finally {
+			reader.close();
+			runSize = 0;
+		}
+	}
+
+	/**
+	 * Adds a record to the current run, writing the run out first if it is full
+	 */
+	private void addToRun(long corners, long edges, long moves0, long moves1) throws IOException {
+		if (runSize * RECORD_LONGS == run.length) flushRun();
+		int i = runSize * RECORD_LONGS;
+		run[i] 	   = corners;
+		run[i + 1] = edges;
+		run[i + 2] = moves0;
+		run[i + 3] = moves1;
+		runSize++;
+	}
+
+	/**
+	 * Sorts the current run by state and writes it to a new run file, without
+	 * repeated states
+	 */
+	private void flushRun() throws IOException {
+		if (runSize == 0) return;
+		sortRun(0, runSize - 1);
+
+		File file = newFile("run");
+		RecordWriter writer = new RecordWriter(file);
+		for (int r = 0; r < runSize; r++) {
+			int i = r * RECORD_LONGS;
+			if (r > 0 && compareRecords(r, r - 1) == 0) continue;
+			writer.write(run[i], run[i + 1], run[i + 2], run[i + 3]);
+		}
+		writer.close();
+		runFiles.add(file);
+		runSize = 0;
+	}
+
+	/**
+	 * Compares the states of the records at the given positions in the run
+	 */
+	private int compareRecords(int r, int s) {
+		return compareStates(run[r * RECORD_LONGS], run[r * RECORD_LONGS + 1],
+			run[s * RECORD_LONGS], run[s * RECORD_LONGS + 1]);
+	}
+
+	/**
+	 * Swaps the records at the given positions in the run
+	 */
+	private void swapRecords(int r, int s) {
+		for (int k = 0; k < RECORD_LONGS; k++) {
+			long temp = run[r * RECORD_LONGS + k];
+			run[r * RECORD_LONGS + k] = run[s * RECORD_LONGS + k];
+			run[s * RECORD_LONGS + k] = temp;
+		}
+	}
+
+	/**
+	 * Sorts the records at positions lo..hi of the run by state, with quicksort
+	 */
+	private void sortRun(int lo, int hi) {
+		while (hi - lo > INSERTION_SORT_CUTOFF) {
+			// Partition around the median of three records
+			int mid = lo + (hi - lo) / 2;
+			if (compareRecords(mid, lo) < 0) swapRecords(mid, lo);
+			if (compareRecords(hi, lo) < 0) swapRecords(hi, lo);
+			if (compareRecords(hi, mid) < 0) swapRecords(hi, mid);
+			swapRecords(mid, lo);	// the median is the pivot, at lo
+
+			int i = lo;
+			int j = hi + 1;
+			while (true) {
+				while (compareRecords(++i, lo) < 0) if (i == hi) break;
+				while (compareRecords(lo, --j) < 0);
+				if (i >= j) break;
+				swapRecords(i, j);
+			}
+			swapRecords(lo, j);
+
+			// Recur on the smaller side, and loop on the larger
+			if (j - lo < hi - j) {
+				sortRun(lo, j - 1);
+				lo = j + 1;
+			} else {
+				sortRun(j + 1, hi);
+				hi = j - 1;
+			}
+		}
+
+		for (int i = lo + 1; i <= hi; i++) {
+			for (int j = i; j > lo && compareRecords(j, j - 1) < 0; j--) swapRecords(j, j - 1);
+		}
+	}
+
+	/**
+	 * Merges the run files into the given file for the next layer, dropping states
+	 * in more than one run and states in the previous (if not null) or current
+	 * layer. Deletes the run files, and returns the number of records written.
+	 */
+	private long merge(File previous, File current, File next) throws IOException {
+		// Merge groups of runs into longer runs until there are few enough to merge
+		// at once
+		while (runFiles.size() > MAX_MERGE_WAYS) {
+			List<File> merged = new ArrayList<File>();
+			for (int i = 0; i < runFiles.size(); i += MAX_MERGE_WAYS) {
+				File file = newFile("run");
+				mergeRuns(runFiles.subList(i, Math.min(i + MAX_MERGE_WAYS, runFiles.size())),
+					null, null, file);
+				merged.add(file);
+			}
+			runFiles = merged;
+		}
+
+		RecordReader previousReader = (previous == null) ? null : new RecordReader(previous);
+		RecordReader currentReader = new RecordReader(current);
+		try {
+			return mergeRuns(runFiles, previousReader, currentReader, next);
+		} finally {
+			if (previousReader != null) previousReader.close();
+			currentReader.close();
+			runFiles.clear();
+		}
+	}
+
+	/**
+	 * Merges the given run files into the given file, dropping states in more than
+	 * one run and states the given readers of layers (either may be null) reach as
+	 * they are skipped forward. Deletes the run files, and returns the number of
+	 * records written.
+	 */
+	private long mergeRuns(List<File> files, RecordReader previousReader, RecordReader currentReader,
+			File out) throws IOException {
+		MinPQ<RecordReader> runs = new MinPQ<RecordReader>();
+		RecordWriter writer = new RecordWriter(out);
+		try {
+			for (File file : files) {
+				RecordReader reader = new RecordReader(file);
+				if (reader.hasRecord) runs.insert(reader);
+				else reader.close();
+			}
+
+			boolean wroteAny = false;
+			long lastCorners = 0;
+			long lastEdges = 0;
+			while (!runs.isEmpty()) {
+				RecordReader reader = runs.delMin();
+				long corners = reader.corners;
+				long edges = reader.edges;
+
+				boolean duplicate = (wroteAny && corners == lastCorners && edges == lastEdges)
+					|| (previousReader != null && previousReader.skipTo(corners, edges))
+					|| (currentReader != null && currentReader.skipTo(corners, edges));
+				if (!duplicate) {
+					writer.write(corners, edges, reader.moves0, reader.moves1);
+					wroteAny = true;
+				}
+				lastCorners = corners;
+				lastEdges = edges;
+
+				reader.advance();
+				if (reader.hasRecord) runs.insert(reader);
+				else reader.close();
+			}
+		} finally {
+			while (!runs.isEmpty()) runs.delMin().close();
+			writer.close();
+			for (File file : files) file.delete();
+		}
+		return writer.count;
+	}
+
+
+	// Getters
+
+	/**
+	 * Returns the algorithm for solving the cube as a string of moves in standard
+	 * cube notation
+	 */
+	public String getSolveAlgorithm() {
+		return solveAlgorithm;
+	}
+
+	/**
+	 * Returns the number of cubes whose neighbors were searched, over all bounds
+	 */
+	public long getNodesExpanded() {
+		return nodesExpanded;
+	}
+
+
+	// Client
+
+	/**
+	 * A client program that solves the cube from the filename and the name of the
+	 * distanceHeuristic passed as arguments, optionally followed by the directory
+	 * to keep files in and the number of records to sort in memory at a time
+	 */
+	public static void main(String[] args) {
+		String filename = args[0];
+		String distanceHeuristicName = args[1];
+		File directory = new File((args.length > 2) ? args[2] : System.getProperty("java.io.tmpdir"));
+		int runCapacity = (args.length > 3) ? Integer.parseInt(args[3]) : DEFAULT_RUN_CAPACITY;
+
+		DistanceHeuristic distanceHeuristic = null;
+		try {
+			distanceHeuristic = (DistanceHeuristic) Class.forName(distanceHeuristicName)
+				.getConstructor()
+				.newInstance();
+		} catch (Exception e) {
+			System.out.println(e);
+		}
+		Cube cube = new Cube(filename);
+		System.out.println("Solving cube.....");
+		ExternalMemorySolver solver = new ExternalMemorySolver(cube, distanceHeuristic, directory,
+			runCapacity);
+		System.out.print("Solution: ");
+		System.out.println(solver.getSolveAlgorithm());
+	}
+}
@@ -0,0 +1,120 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This is an OpenList backed by a binary heap, ordering nodes by
+* priority alone. It works like MinPQ, but keeps the nodes and their priorities
+* in parallel arrays of primitives, so inserting a node allocates nothing but the
+* occasional larger array. Insert and delete-min take logarithmic time.
+***********************************************************************************/
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class HeapOpenList implements OpenList {
+
+	// Constants
+
+	private static final int INITIAL_CAPACITY = 1 << 10;
+
+
+	// Instance variables
+
+	private int[] nodes;			// the heap, in nodes[1..size]
+	private double[] priorities;	// priorities[i] is the priority of nodes[i]
+	private int size;				// number of nodes
+
+
+	// Constructors
+
+	/**
+	 * Construct an empty HeapOpenList
+	 */
+	public HeapOpenList() {
+		this.nodes 		= new int[INITIAL_CAPACITY + 1];
+		this.priorities = new double[INITIAL_CAPACITY + 1];
+	}
+
+
+	// Helper methods
+
+	/**
+	 * Moves the entry at index k up the heap until its parent is no greater
+	 */
+	private void swim(int k) {
+		int node = nodes[k];
+		double priority = priorities[k];
+		while (k > 1 && priorities[k / 2] > priority) {
+			nodes[k] 	  = nodes[k / 2];
+			priorities[k] = priorities[k / 2];
+			k /= 2;
+		}
+		nodes[k] 	  = node;
+		priorities[k] = priority;
+	}
+
+	/**
+	 * Moves the entry at index k down the heap until its children are no smaller
+	 */
+	private void sink(int k) {
+		int node = nodes[k];
+		double priority = priorities[k];
+		while (2 * k <= size) {
+			int j = 2 * k;
+			if (j < size && priorities[j + 1] < priorities[j]) j++;
+			if (!(priorities[j] < priority)) break;
+			nodes[k] 	  = nodes[j];
+			priorities[k] = priorities[j];
+			k = j;
+		}
+		nodes[k] 	  = node;
+		priorities[k] = priority;
+	}
+
+
+	// Methods
+
+	/**
+	 * Adds the given node with the given priority (the distance is not used)
+	 */
+	public void insert(int node, double priority, int distance) {
+		if (size + 1 == nodes.length) {
+			this.nodes 		= Arrays.copyOf(nodes, 2 * nodes.length);
+			this.priorities = Arrays.copyOf(priorities, 2 * priorities.length);
+		}
+		size++;
+		nodes[size] 	 = node;
+		priorities[size] = priority;
+		swim(size);
+	}
+
+	/**
+	 * Removes and returns a node with the smallest priority
+	 */
+	public int delMin() {
+		if (size == 0)
+			throw new NoSuchElementException("Priority queue underflow");
+
+		int min = nodes[1];
+		nodes[1] 	  = nodes[size];
+		priorities[1] = priorities[size];
+		size--;
+		if (size > 0) sink(1);
+		return min;
+	}
+
+	/**
+	 * Returns whether there are no nodes in this HeapOpenList
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the number of nodes in this HeapOpenList
+	 */
+	public int size() {
+		return size;
+	}
+
+}
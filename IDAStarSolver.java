@@ -0,0 +1,165 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This is a Rubik's Cube solver object that uses the iterative-deepening
+* A* (IDA*) algorithm. Like CubeSolver, it measures the distance of a cube from the
+* solved cube with a DistanceHeuristic, and only quarter turns are considered
+* single turns. Unlike CubeSolver, it keeps no queue of cubes to visit: it runs a
+* depth-first search that is cut off wherever turns made + distance exceeds a
+* bound, and raises the bound until a solution is found. A single working cube is
+* turned in place and turned back while backtracking, so the memory used only
+* grows with the length of the solution. With an admissible DistanceHeuristic the
+* solution found is as short as possible.
+***********************************************************************************/
+
+public class IDAStarSolver {
+
+	// Constants
+
+	// Returned by search() when the working cube has been solved
+	private static final int FOUND = -1;
+
+
+	// Instance variables
+
+	/**
+	 * The DistanceHeuristic providing the definition of distance on cubes for this
+	 * solver
+	 */
+	private DistanceHeuristic distanceHeuristic;
+
+	/**
+	 * The cube being searched, turned in place as the search goes deeper and
+	 * turned back as it backtracks
+	 */
+	private Cube workingCube;
+
+	/**
+	 * The moves made on the working cube so far, one per depth
+	 */
+	private int[] path;
+
+	/**
+	 * The number of moves in the solution, set when search() finds it
+	 */
+	private int solutionLength;
+
+	/**
+	 * The number of cubes whose neighbors were searched
+	 */
+	private long nodesExpanded;
+
+	/**
+	 * The string representation of the algorithm to solve the cube, as a 
+	 * comma-separated list of turns
+	 */
+	private String solveAlgorithm;
+
+
+	// Constructors
+
+	/**
+	 * Initializes an IDAStarSolver, and solves the given Cube using the given
+	 * DistanceHeuristic. Throws an error if the Cube is invalid or not solvable.
+	 */
+	public IDAStarSolver(Cube cube, DistanceHeuristic distanceHeuristic) {
+		if (cube == null || distanceHeuristic == null)
+			throw new NullPointerException("Arguments are null");
+
+		this.distanceHeuristic = distanceHeuristic;
+		this.workingCube 	   = new Cube(cube);
+
+		// Raise the bound to the smallest f that exceeded it until solved
+		int bound = distanceHeuristic.distance(workingCube);
+		while (true) {
+			path = new int[bound + 1];
+			int next = search(0, bound, CanonicalMoves.START);
+			if (next == FOUND) break;
+			bound = next;
+		}
+
+		// Read the algorithm off the path
+		this.solveAlgorithm = Side.movesToString(path, solutionLength);
+	}
+
+
+	// Helper methods
+
+	/**
+	 * Searches depth-first below the working cube, which was reached with depth
+	 * moves that left the sequence in the given state (see CanonicalMoves).
+	 * Returns FOUND if the cube was solved within the bound, or else the smallest
+	 * f = depth + distance that exceeded the bound.
+	 */
+	private int search(int depth, int bound, int sequenceState) {
+		int f = depth + distanceHeuristic.distance(workingCube);
+		if (f > bound) return f;
+		if (workingCube.isSolved()) {
+			solutionLength = depth;
+			return FOUND;
+		}
+
+		nodesExpanded++;
+		int min = Integer.MAX_VALUE;
+		for (int move : Side.QUARTER_TURNS) {
+			// Never make a redundant sequence of moves
+			int nextState = CanonicalMoves.next(sequenceState, move);
+			if (nextState == CanonicalMoves.REDUNDANT) continue;
+
+			workingCube.turnInPlace(move);
+			path[depth] = move;
+			int next = search(depth + 1, bound, nextState);
+			workingCube.turnInPlace(Side.inverse(move));
+
+			if (next == FOUND) return FOUND;
+			if (next < min) min = next;
+		}
+		return min;
+	}
+	
+
+	// Getters
+
+	/**
+	 * Returns the algorithm for solving the cube as a string of moves in standard
+	 * cube notation
+	 */
+	public String getSolveAlgorithm() {
+		return solveAlgorithm;
+	}
+
+	/**
+	 * Returns the number of cubes whose neighbors were searched, over all
+	 * iterations
+	 */
+	public long getNodesExpanded() {
+		return nodesExpanded;
+	}
+
+
+	// Client
+
+	/**
+	 * A client program that solves the cube from the filename and the name of the
+	 * distanceHeuristic passed as arguments
+	 */
+	public static void main(String[] args) {
+		String filename = args[0];
+		String distanceHeuristicName = args[1];
+
+		DistanceHeuristic distanceHeuristic = null;
+		try {
+			distanceHeuristic = (DistanceHeuristic) Class.forName(distanceHeuristicName)
+				.getConstructor()
+				.newInstance();
+		} catch (Exception e) {
+			System.out.println(e);
+		}
+		Cube cube = new Cube(filename);
+		System.out.println("Solving cube.....");
+		IDAStarSolver solver = new IDAStarSolver(cube, distanceHeuristic);
+		System.out.print("Solution: ");
+		System.out.println(solver.getSolveAlgorithm());
+	}
+}
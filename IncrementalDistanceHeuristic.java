@@ -0,0 +1,31 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: IncrementalDistanceHeuristic is an interface for a DistanceHeuristic
+* whose distance can be updated as a cube is turned instead of computed from the
+* whole cube. It works on a "score": a summary of a cube (such as a sum of costs
+* per cublet) from which its distance follows. A turn moves only 8 cublets, so the
+* score of a cube after a turn is found from the score before it by looking at
+* those 8 alone. (See CubletHeuristic)
+***********************************************************************************/
+
+public interface IncrementalDistanceHeuristic extends DistanceHeuristic {
+
+	/**
+	 * Returns the score of the given cube
+	 */
+	public long score(Cube cube);
+
+	/**
+	 * Returns the score of the given cube after making the given move, from its
+	 * score before the move. The cube itself is not turned.
+	 */
+	public long update(long score, Cube cube, int move);
+
+	/**
+	 * Returns the distance from a cube with the given score to a solved cube
+	 */
+	public int distanceOf(long score);
+
+}
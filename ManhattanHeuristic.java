@@ -0,0 +1,85 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This is a DistanceHeuristic that is the 3D analogue of the Manhattan
+* distance of sliding puzzles (see CubletHeuristic). The cost of a cublet is the
+* number of quarter turns needed to bring it alone to its own slot with orientation
+* 0, ignoring every other cublet. The costs are found once, by a breadth-first
+* search from each slot over the quarter turns of a single cublet (see
+* CubletHeuristic.CORNER_TURNS and EDGE_TURNS).
+*
+* A quarter turn moves 4 corners and 4 edges, each by at most one turn of its
+* cost, so it lowers the corner sum and the edge sum by at most 4 each. The
+* distance is the larger of the two sums divided by 4 (rounded up), which is
+* admissible.
+***********************************************************************************/
+
+import java.util.Arrays;
+
+public class ManhattanHeuristic extends CubletHeuristic {
+
+	// Constants
+
+	private static final byte[] CORNER_COSTS = buildCosts(true);
+	private static final byte[] EDGE_COSTS 	 = buildCosts(false);
+
+
+	// Constructors
+
+	/**
+	 * Construct a ManhattanHeuristic
+	 */
+	public ManhattanHeuristic() {
+		super(CORNER_COSTS, EDGE_COSTS);
+	}
+
+
+	// Helper methods
+
+	/**
+	 * Returns the table of the quarter turns needed to bring each corner (or each
+	 * edge) home from every slot and orientation, laid out as in CubletHeuristic
+	 */
+	private static byte[] buildCosts(boolean isCorners) {
+		int numSlots 		= isCorners ? Cube.NUM_CORNERS : Cube.NUM_EDGES;
+		int numOrientations = isCorners ? Cube.CORNER_ORIENTATIONS : Cube.EDGE_ORIENTATIONS;
+		int numStates 		= numSlots * numOrientations;
+		int[][] next 		= isCorners ? CORNER_TURNS : EDGE_TURNS;
+
+		// Every quarter turn has its inverse among the quarter turns, so the turns
+		// from home to a state are as many as from the state home
+		byte[] costs = new byte[numSlots * numStates];
+		int[] queue = new int[numStates];
+		for (int home = 0; home < numSlots; home++) {
+			byte[] distances = new byte[numStates];
+			Arrays.fill(distances, (byte) -1);
+			int start = home * numOrientations;
+			distances[start] = 0;
+			queue[0] = start;
+			int head = 0;
+			int tail = 1;
+			while (head < tail) {
+				int state = queue[head++];
+				for (int move : Side.QUARTER_TURNS) {
+					int neighbor = next[move][state];
+					if (distances[neighbor] >= 0) continue;
+					distances[neighbor] = (byte) (distances[state] + 1);
+					queue[tail++] = neighbor;
+				}
+			}
+			System.arraycopy(distances, 0, costs, home * numStates, numStates);
+		}
+		return costs;
+	}
+
+
+	// Methods
+
+	protected int combine(int cornerSum, int edgeSum) {
+		int cornerTurns = (cornerSum + CUBLETS_PER_TURN - 1) / CUBLETS_PER_TURN;
+		int edgeTurns 	= (edgeSum + CUBLETS_PER_TURN - 1) / CUBLETS_PER_TURN;
+		return Math.max(cornerTurns, edgeTurns);
+	}
+
+}
@@ -0,0 +1,55 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This is a DistanceHeuristic that counts the corners and edges that
+* are out of place or turned in place (see CubletHeuristic). A quarter turn moves 8
+* cublets, so the count overestimates the number of turns needed and is not
+* admissible, but it is cheap and points greedy search in the right direction.
+***********************************************************************************/
+
+public class MisplacedCubletsHeuristic extends CubletHeuristic {
+
+	// Constants
+
+	private static final byte[] CORNER_COSTS = buildCosts(Cube.NUM_CORNERS, Cube.CORNER_ORIENTATIONS);
+	private static final byte[] EDGE_COSTS 	 = buildCosts(Cube.NUM_EDGES, Cube.EDGE_ORIENTATIONS);
+
+
+	// Constructors
+
+	/**
+	 * Construct a MisplacedCubletsHeuristic
+	 */
+	public MisplacedCubletsHeuristic() {
+		super(CORNER_COSTS, EDGE_COSTS);
+	}
+
+
+	// Helper methods
+
+	/**
+	 * Returns a table of costs (laid out as in CubletHeuristic) that is 0 for a
+	 * cublet in its own slot with orientation 0, and 1 otherwise
+	 */
+	private static byte[] buildCosts(int numSlots, int numOrientations) {
+		byte[] costs = new byte[numSlots * numSlots * numOrientations];
+		for (int home = 0; home < numSlots; home++) {
+			for (int slot = 0; slot < numSlots; slot++) {
+				for (int orientation = 0; orientation < numOrientations; orientation++) {
+					boolean inPlace = slot == home && orientation == 0;
+					costs[(home * numSlots + slot) * numOrientations + orientation] = (byte) (inPlace ? 0 : 1);
+				}
+			}
+		}
+		return costs;
+	}
+
+
+	// Methods
+
+	protected int combine(int cornerSum, int edgeSum) {
+		return cornerSum + edgeSum;
+	}
+
+}
@@ -0,0 +1,243 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This object holds the nodes of a search in parallel arrays of
+* primitives, one entry per node, instead of an object (or several) per node. A
+* node is identified by its index in the arrays, and holds:
+* - the packed state of its cube (see Cube.corners() and Cube.edges())
+* - the index of the node it was reached from, or NONE for the starting node
+* - the move made to reach it from that node (see Side), or NONE
+* - the number of turns made to reach it (g) and its distance (h)
+* - the state of the sequence of turns made to reach it (see CanonicalMoves)
+* - optionally, the score of its cube (see IncrementalDistanceHeuristic)
+*
+* A node takes 26 bytes, where a Cube alone is an object of 32, plus 8 for its
+* score once any node is added with one. The path to a node is retraced through
+* the indices of the nodes it was reached from. The arrays grow by doubling as
+* nodes are added, and nodes are never removed.
+***********************************************************************************/
+
+import java.util.Arrays;
+
+public class NodeStore {
+
+	// Constants
+
+	// The parent of the starting node, and the move made to reach it
+	public static final int NONE = -1;
+
+	public static final int DEFAULT_CAPACITY = 1 << 10;
+
+	// Bytes each node takes in the arrays, and bytes its score takes if scores are kept
+	public static final int BYTES_PER_NODE 	= 26;
+	public static final int BYTES_PER_SCORE = 8;
+
+	// Largest number of nodes the arrays can hold
+	private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+
+	// Instance variables
+
+	private long[] corners;			// packed corners of each node's cube
+	private long[] edges;			// packed edges of each node's cube
+	private int[] parents;			// index of the node each node was reached from
+	private byte[] moves;			// move made to reach each node
+	private short[] depths;			// number of turns made to reach each node
+	private short[] distances;		// distance of each node's cube
+	private byte[] sequenceStates;	// state of the turns made to reach each node
+	private long[] scores;			// score of each node's cube, or null if none has one
+	private int size;				// number of nodes
+
+
+	// Constructors
+
+	/**
+	 * Construct an empty NodeStore with room for DEFAULT_CAPACITY nodes before
+	 * it grows
+	 */
+	public NodeStore() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Construct an empty NodeStore with room for the given number of nodes before
+	 * it grows
+	 */
+	public NodeStore(int capacity) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("Capacity must be positive");
+
+		this.corners 		= new long[capacity];
+		this.edges 			= new long[capacity];
+		this.parents 		= new int[capacity];
+		this.moves 			= new byte[capacity];
+		this.depths 		= new short[capacity];
+		this.distances 		= new short[capacity];
+		this.sequenceStates = new byte[capacity];
+	}
+
+
+	// Helper methods
+
+	/**
+	 * Doubles the length of every array (or grows them as far as they can go)
+	 */
+	private void grow() {
+		if (corners.length == MAX_CAPACITY)
+			throw new RuntimeException("NodeStore is full");
+		int capacity = (int) Math.min(2L * corners.length, MAX_CAPACITY);
+
+		this.corners 		= Arrays.copyOf(corners, capacity);
+		this.edges 			= Arrays.copyOf(edges, capacity);
+		this.parents 		= Arrays.copyOf(parents, capacity);
+		this.moves 			= Arrays.copyOf(moves, capacity);
+		this.depths 		= Arrays.copyOf(depths, capacity);
+		this.distances 		= Arrays.copyOf(distances, capacity);
+		this.sequenceStates = Arrays.copyOf(sequenceStates, capacity);
+		if (scores != null) this.scores = Arrays.copyOf(scores, capacity);
+	}
+
+	/**
+	 * Throws an error if the given index is not the index of a node
+	 */
+	private void validate(int node) {
+		if (node < 0 || node >= size)
+			throw new IndexOutOfBoundsException("No node with index " + node);
+	}
+
+
+	// Methods
+
+	/**
+	 * Adds a node for the given Cube, reached from the given parent node with the
+	 * given move (or NONE and NONE for a starting node), and with the given
+	 * distance and sequence state. Returns the index of the new node.
+	 */
+	public int add(Cube cube, int parent, int move, int distance, int sequenceState) {
+		if (cube == null)
+			throw new NullPointerException("Argument is null");
+		if (parent != NONE) validate(parent);
+		if ((parent == NONE) != (move == NONE) || move < NONE || move >= Side.NUM_MOVES)
+			throw new IllegalArgumentException("Invalid move: " + move);
+		int depth = (parent == NONE) ? 0 : depths[parent] + 1;
+		if (depth > Short.MAX_VALUE || distance < 0 || distance > Short.MAX_VALUE)
+			throw new IllegalArgumentException("Depth and distance must be between 0 and "
+				+ Short.MAX_VALUE);
+		if (sequenceState < 0 || sequenceState >= CanonicalMoves.NUM_STATES)
+			throw new IllegalArgumentException("Invalid sequence state: " + sequenceState);
+
+		if (size == corners.length) grow();
+		corners[size] 			= cube.corners();
+		edges[size] 			= cube.edges();
+		parents[size] 			= parent;
+		moves[size] 			= (byte) move;
+		depths[size] 			= (short) depth;
+		distances[size] 		= (short) distance;
+		sequenceStates[size] 	= (byte) sequenceState;
+		return size++;
+	}
+
+	/**
+	 * Adds a node like add() above, and keeps the given score of its cube (see
+	 * IncrementalDistanceHeuristic). Returns the index of the new node.
+	 */
+	public int add(Cube cube, int parent, int move, int distance, int sequenceState, long score) {
+		int node = add(cube, parent, move, distance, sequenceState);
+		if (scores == null) scores = new long[corners.length];
+		scores[node] = score;
+		return node;
+	}
+
+	/**
+	 * Returns a new Cube in the state held by the given node
+	 */
+	public Cube cube(int node) {
+		validate(node);
+		return new Cube(corners[node], edges[node]);
+	}
+
+	/**
+	 * Returns the moves made to reach the given node from the starting node, in
+	 * the order they were made
+	 */
+	public int[] path(int node) {
+		validate(node);
+		int[] path = new int[depths[node]];
+		for (int i = path.length - 1; i >= 0; i--) {
+			path[i] = moves[node];
+			node = parents[node];
+		}
+		return path;
+	}
+
+	/**
+	 * Returns the number of nodes in this NodeStore
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of bytes the arrays take, counting the room for nodes not
+	 * yet added
+	 */
+	public long bytesAllocated() {
+		long bytes = (long) corners.length * BYTES_PER_NODE;
+		if (scores != null) bytes += (long) scores.length * BYTES_PER_SCORE;
+		return bytes;
+	}
+
+
+	// Getters
+
+	/**
+	 * Returns the index of the node the given node was reached from, or NONE
+	 */
+	public int getParent(int node) {
+		validate(node);
+		return parents[node];
+	}
+
+	/**
+	 * Returns the move made to reach the given node, or NONE
+	 */
+	public int getMove(int node) {
+		validate(node);
+		return moves[node];
+	}
+
+	/**
+	 * Returns the number of turns made to reach the given node
+	 */
+	public int getDepth(int node) {
+		validate(node);
+		return depths[node];
+	}
+
+	/**
+	 * Returns the distance of the given node's cube
+	 */
+	public int getDistance(int node) {
+		validate(node);
+		return distances[node];
+	}
+
+	/**
+	 * Returns the state of the sequence of turns made to reach the given node
+	 */
+	public int getSequenceState(int node) {
+		validate(node);
+		return sequenceStates[node];
+	}
+
+	/**
+	 * Returns the score the given node was added with, or 0 if it was added
+	 * without one
+	 */
+	public long getScore(int node) {
+		validate(node);
+		return (scores == null) ? 0 : scores[node];
+	}
+
+}
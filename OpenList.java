@@ -0,0 +1,35 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: OpenList is an interface for the queue of nodes a search has
+* reached but not yet expanded. Nodes are identified by their index (see
+* NodeStore), and each is inserted with its priority and its distance from a
+* solved cube. delMin() removes a node with the smallest priority. Implementations
+* may break ties between equal priorities however they like. (See HeapOpenList
+* and BucketOpenList)
+***********************************************************************************/
+
+public interface OpenList {
+
+	/**
+	 * Adds the given node with the given priority and distance
+	 */
+	public void insert(int node, double priority, int distance);
+
+	/**
+	 * Removes and returns a node with the smallest priority
+	 */
+	public int delMin();
+
+	/**
+	 * Returns whether there are no nodes in this OpenList
+	 */
+	public boolean isEmpty();
+
+	/**
+	 * Returns the number of nodes in this OpenList
+	 */
+	public int size();
+
+}
@@ -0,0 +1,294 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This is a Rubik's Cube solver object that runs the IDA* search of
+* IDAStarSolver on many threads. Each iteration expands the starting cube to a
+* split depth (all 12 quarter turns, then the quarter turns that may follow each
+* of those, and so on), and hands the subtrees below that depth to a
+* ForkJoinPool, whose work stealing keeps every thread busy however uneven the
+* subtrees are. Below the split depth each subtree is searched depth-first on its
+* own working cube, just like IDAStarSolver.
+*
+* The threads share the solution through an atomic: the first thread to find one
+* within the current bound publishes it, and every other thread stops as soon as
+* it sees it. Since every solution found within a bound is as short as possible
+* (given an admissible DistanceHeuristic), stopping at the first is safe. Tasks
+* that did not find one return the smallest f that exceeded the bound, which
+* becomes the bound of the next iteration.
+*
+* The DistanceHeuristic is shared by all threads, so it must be safe to call
+* concurrently (every heuristic in this project is).
+***********************************************************************************/
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ParallelIDAStarSolver {
+
+	// Constants
+
+	public static final int DEFAULT_SPLIT_DEPTH = 2;	// 114 subtrees
+
+	// Returned by a search when a cube has been solved (or another thread solved it)
+	private static final int FOUND = -1;
+
+
+	// Instance variables
+
+	/**
+	 * The DistanceHeuristic providing the definition of distance on cubes for this
+	 * solver
+	 */
+	private DistanceHeuristic distanceHeuristic;
+
+	/**
+	 * The depth above which the search forks a task per neighbor
+	 */
+	private int splitDepth;
+
+	/**
+	 * The moves of the solution, set by the first thread to find one within the
+	 * current bound
+	 */
+	private AtomicReference<int[]> solution = new AtomicReference<int[]>();
+
+	/**
+	 * The number of cubes whose neighbors were searched, over all threads
+	 */
+	private AtomicLong nodesExpanded = new AtomicLong();
+
+	/**
+	 * The string representation of the algorithm to solve the cube, as a
+	 * comma-separated list of turns
+	 */
+	private String solveAlgorithm;
+
+
+	// Helper classes
+
+	/**
+	 * A task that searches below one cube of the current iteration, which was
+	 * reached with the moves in path[0..depth-1], leaving the sequence in the
+	 * given state (see CanonicalMoves). Above the split depth it forks a
+	 * task per neighbor; at the split depth it searches depth-first itself.
+	 */
+	private class SearchTask extends RecursiveTask<Integer> {
+		private static final long serialVersionUID = 1L;
+
+		private Cube cube;
+		private int[] path;
+		private int depth;
+		private int sequenceState;
+		private int bound;
+
+		private SearchTask(Cube cube, int[] path, int depth, int sequenceState, int bound) {
+			this.cube 			= cube;
+			this.path 			= path;
+			this.depth 			= depth;
+			this.sequenceState 	= sequenceState;
+			this.bound 			= bound;
+		}
+
+		/**
+		 * Returns FOUND if the cube was solved within the bound (by this task or
+		 * any other), or else the smallest f that exceeded the bound
+		 */
+		protected Integer compute() {
+			if (depth >= splitDepth) {
+				Searcher searcher = new Searcher(cube, path, bound);
+				int result = searcher.search(depth, sequenceState);
+				nodesExpanded.addAndGet(searcher.nodesExpanded);
+				return result;
+			}
+
+			int f = depth + distanceHeuristic.distance(cube);
+			if (f > bound) return f;
+			if (cube.isSolved()) return found(path, depth);
+			if (solution.get() != null) return FOUND;
+
+			nodesExpanded.incrementAndGet();
+			List<SearchTask> tasks = new ArrayList<SearchTask>();
+			for (int move : Side.QUARTER_TURNS) {
+				// Never make a redundant sequence of moves
+				int nextState = CanonicalMoves.next(sequenceState, move);
+				if (nextState == CanonicalMoves.REDUNDANT) continue;
+
+				int[] childPath = path.clone();
+				childPath[depth] = move;
+				tasks.add(new SearchTask(cube.turn(move), childPath, depth + 1, nextState, bound));
+			}
+
+			int min = Integer.MAX_VALUE;
+			for (SearchTask task : invokeAll(tasks)) {
+				int next = task.join();
+				if (next == FOUND) return FOUND;
+				if (next < min) min = next;
+			}
+			return min;
+		}
+	}
+
+	/**
+	 * The depth-first search of IDAStarSolver on one working cube, which gives up
+	 * as soon as any thread has found a solution
+	 */
+	private class Searcher {
+		private Cube workingCube;
+		private int[] path;
+		private int bound;
+		private long nodesExpanded;
+
+		private Searcher(Cube cube, int[] path, int bound) {
+			this.workingCube = new Cube(cube);
+			this.path 		 = path;
+			this.bound 		 = bound;
+		}
+
+		/**
+		 * Searches depth-first below the working cube, which was reached with
+		 * depth moves that left the sequence in the given state. Returns FOUND if
+		 * the cube was solved within the bound, or else the smallest
+		 * f = depth + distance that exceeded the bound.
+		 */
+		private int search(int depth, int sequenceState) {
+			int f = depth + distanceHeuristic.distance(workingCube);
+			if (f > bound) return f;
+			if (workingCube.isSolved()) return found(path, depth);
+			if (solution.get() != null) return FOUND;
+
+			nodesExpanded++;
+			int min = Integer.MAX_VALUE;
+			for (int move : Side.QUARTER_TURNS) {
+				// Never make a redundant sequence of moves
+				int nextState = CanonicalMoves.next(sequenceState, move);
+				if (nextState == CanonicalMoves.REDUNDANT) continue;
+
+				workingCube.turnInPlace(move);
+				path[depth] = move;
+				int next = search(depth + 1, nextState);
+				workingCube.turnInPlace(Side.inverse(move));
+
+				if (next == FOUND) return FOUND;
+				if (next < min) min = next;
+			}
+			return min;
+		}
+	}
+
+
+	// Constructors
+
+	/**
+	 * Initializes a ParallelIDAStarSolver, and solves the given Cube using the
+	 * given DistanceHeuristic on every available processor. Throws an error if
+	 * the Cube is invalid or not solvable.
+	 */
+	public ParallelIDAStarSolver(Cube cube, DistanceHeuristic distanceHeuristic) {
+		this(cube, distanceHeuristic, DEFAULT_SPLIT_DEPTH, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Initializes a ParallelIDAStarSolver, and solves the given Cube using the
+	 * given DistanceHeuristic, forking tasks above splitDepth and running them on
+	 * the given number of threads. Throws an error if the Cube is invalid or not
+	 * solvable.
+	 */
+	public ParallelIDAStarSolver(Cube cube, DistanceHeuristic distanceHeuristic, int splitDepth,
+			int parallelism) {
+		if (cube == null || distanceHeuristic == null)
+			throw new NullPointerException("Arguments are null");
+		if (splitDepth < 0)
+			throw new IllegalArgumentException("splitDepth must be non-negative");
+		if (parallelism < 1)
+			throw new IllegalArgumentException("parallelism must be positive");
+
+		this.distanceHeuristic = distanceHeuristic;
+		this.splitDepth 	   = splitDepth;
+
+		// Raise the bound to the smallest f that exceeded it until solved
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			int bound = distanceHeuristic.distance(cube);
+			while (true) {
+				int[] path = new int[bound + 1];
+				int next = pool.invoke(new SearchTask(new Cube(cube), path, 0, CanonicalMoves.START, bound));
+				if (next == FOUND) break;
+				bound = next;
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		// Read the algorithm off the solution
+		this.solveAlgorithm = Side.movesToString(solution.get());
+	}
+
+
+	// Helper methods
+
+	/**
+	 * Records the first depth moves of the given path as the solution, unless
+	 * another thread got there first. Returns FOUND.
+	 */
+	private int found(int[] path, int depth) {
+		int[] moves = new int[depth];
+		System.arraycopy(path, 0, moves, 0, depth);
+		solution.compareAndSet(null, moves);
+		return FOUND;
+	}
+
+
+	// Getters
+
+	/**
+	 * Returns the algorithm for solving the cube as a string of moves in standard
+	 * cube notation
+	 */
+	public String getSolveAlgorithm() {
+		return solveAlgorithm;
+	}
+
+	/**
+	 * Returns the number of cubes whose neighbors were searched, over all threads
+	 * and iterations
+	 */
+	public long getNodesExpanded() {
+		return nodesExpanded.get();
+	}
+
+
+	// Client
+
+	/**
+	 * A client program that solves the cube from the filename and the name of the
+	 * distanceHeuristic passed as arguments, optionally followed by the split
+	 * depth and the number of threads
+	 */
+	public static void main(String[] args) {
+		String filename = args[0];
+		String distanceHeuristicName = args[1];
+		int splitDepth 	= (args.length > 2) ? Integer.parseInt(args[2]) : DEFAULT_SPLIT_DEPTH;
+		int parallelism = (args.length > 3) ? Integer.parseInt(args[3])
+											: Runtime.getRuntime().availableProcessors();
+
+		DistanceHeuristic distanceHeuristic = null;
+		try {
+			distanceHeuristic = (DistanceHeuristic) Class.forName(distanceHeuristicName)
+				.getConstructor()
+				.newInstance();
+		} catch (Exception e) {
+			System.out.println(e);
+		}
+		Cube cube = new Cube(filename);
+		System.out.println("Solving cube.....");
+		ParallelIDAStarSolver solver = new ParallelIDAStarSolver(cube, distanceHeuristic,
+			splitDepth, parallelism);
+		System.out.print("Solution: ");
+		System.out.println(solver.getSolveAlgorithm());
+	}
+}
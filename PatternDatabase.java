@@ -0,0 +1,245 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This is the superclass for pattern databases: DistanceHeuristics that
+* look up the exact number of quarter turns needed to solve some part of the cube
+* (a "pattern", such as the corners) in a precomputed table. Since solving the
+* whole cube needs at least as many turns as solving any part of it, the distances
+* are admissible.
+*
+* The table has one entry per state of the pattern, stored 4 bits per entry. It is
+* built by a breadth-first search outward from the solved pattern and written to a
+* file once. When a pattern database is loaded, the file is memory-mapped instead
+* of read onto the heap, so the operating system pages it in as it is used and
+* several solvers (or JVMs) can share one copy.
+*
+* A subclass defines the pattern: how many states it has, which part of the packed
+* cube state it reads, how a state is ranked to a table index and back, and how a
+* turn acts on it.
+***********************************************************************************/
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public abstract class PatternDatabase implements DistanceHeuristic {
+
+	// Constants
+
+	private static final int MAGIC 		  = 0x50444231;	// "PDB1", first 4 bytes of a file
+	private static final int HEADER_BYTES = 16;			// magic, signature, number of entries
+
+	private static final int BITS_PER_ENTRY  = 4;
+	private static final int ENTRY_MASK 	 = (1 << BITS_PER_ENTRY) - 1;
+	private static final int UNVISITED 		 = ENTRY_MASK;	// entry not reached yet
+	private static final int MAX_DISTANCE 	 = UNVISITED - 1;
+
+
+	// Instance variables
+
+	private ByteBuffer table;	// entries, two per byte (low nibble first)
+	private int offset;			// byte offset of the first entry in the table
+
+	// Number of pattern states at each distance, filled in by build()
+	private long[] statesAtDistance;
+
+
+	// Abstract methods
+
+	/**
+	 * Returns the number of states of the pattern, which is the number of
+	 * entries in the table
+	 */
+	protected abstract long size();
+
+	/**
+	 * Returns the part of the given Cube's packed state that holds the pattern
+	 */
+	protected abstract long stateOf(Cube cube);
+
+	/**
+	 * Returns the table index of the given pattern state
+	 */
+	protected abstract long indexOf(long state);
+
+	/**
+	 * Returns the pattern state with the given table index
+	 */
+	protected abstract long stateAt(long index);
+
+	/**
+	 * Returns the pattern state after making the given move
+	 */
+	protected abstract long turn(long state, int move);
+
+	/**
+	 * Returns the pattern state of the solved cube
+	 */
+	protected abstract long solvedState();
+
+	/**
+	 * Returns a number that tells apart patterns of the same size, written to and
+	 * checked against the file header
+	 */
+	protected int signature() {
+		return 0;
+	}
+
+
+	// Helper methods
+
+	/**
+	 * Returns the entry at the given index
+	 */
+	private int get(long index) {
+		int b = table.get(offset + (int) (index >>> 1));
+		return (b >>> ((int) (index & 1) * BITS_PER_ENTRY)) & ENTRY_MASK;
+	}
+
+	/**
+	 * Sets the entry at the given index (only while building)
+	 */
+	private void set(long index, int value) {
+		int i 	  = offset + (int) (index >>> 1);
+		int shift = (int) (index & 1) * BITS_PER_ENTRY;
+		int b 	  = table.get(i) & ~(ENTRY_MASK << shift);
+		table.put(i, (byte) (b | (value << shift)));
+	}
+
+	/**
+	 * Returns the number of bytes needed for the entries
+	 */
+	private long tableBytes() {
+		return (size() + 1) / 2;
+	}
+
+	/**
+	 * Sets every state at the given distance + 1 that is one turn away from a
+	 * state at the given distance, and returns how many were set. While few
+	 * states have been reached, this expands the states at the given distance;
+	 * once most have been reached, it instead checks each state not yet reached
+	 * for a neighbor at the given distance, which touches far fewer entries.
+	 */
+	private long buildLayer(int distance, boolean expandForward) {
+		long numSet = 0;
+		for (long index = 0; index < size(); index++) {
+			int entry = get(index);
+			if (expandForward && entry == distance) {
+				long state = stateAt(index);
+				for (int move : Side.QUARTER_TURNS) {
+					long neighbor = indexOf(turn(state, move));
+					if (get(neighbor) == UNVISITED) {
+						set(neighbor, distance + 1);
+						numSet++;
+					}
+				}
+			} else if (!expandForward && entry == UNVISITED) {
+				long state = stateAt(index);
+				for (int move : Side.QUARTER_TURNS) {
+					if (get(indexOf(turn(state, move))) == distance) {
+						set(index, distance + 1);
+						numSet++;
+						break;
+					}
+				}
+			}
+		}
+		return numSet;
+	}
+
+
+	// Methods
+
+	/**
+	 * Returns the number of quarter turns needed to solve the pattern in the
+	 * given Cube
+	 */
+	public int distance(Cube cube) {
+		return get(indexOf(stateOf(cube)));
+	}
+
+	/**
+	 * Builds the table on the heap with a breadth-first search from the solved
+	 * pattern
+	 */
+	protected void build() {
+		if (tableBytes() > Integer.MAX_VALUE)
+			throw new IllegalStateException("Pattern database is too large to build");
+
+		byte[] entries = new byte[(int) tableBytes()];
+		Arrays.fill(entries, (byte) 0xFF);	// every entry UNVISITED
+		table  = ByteBuffer.wrap(entries);
+		offset = 0;
+
+		long[] counts = new long[MAX_DISTANCE + 1];
+		set(indexOf(solvedState()), 0);
+		counts[0] = 1;
+		long numReached = 1;
+		for (int distance = 0; numReached < size(); distance++) {
+			if (distance == MAX_DISTANCE)
+				throw new IllegalStateException("Pattern is too deep to store in 4 bits per entry");
+			boolean expandForward = numReached < size() / 2;
+			counts[distance + 1] = buildLayer(distance, expandForward);
+			if (counts[distance + 1] == 0)
+				throw new IllegalStateException("Pattern states are unreachable from the solved state");
+			numReached += counts[distance + 1];
+		}
+		statesAtDistance = counts;
+	}
+
+	/**
+	 * Writes the table to the given file
+	 */
+	public void save(String filename) {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.BIG_ENDIAN);
+		header.putInt(MAGIC).putInt(signature()).putLong(size()).flip();
+
+		ByteBuffer entries = table.duplicate();
+		entries.position(offset).limit(offset + (int) tableBytes());
+
+		try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE,
+			StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			while (header.hasRemaining())  channel.write(header);
+			while (entries.hasRemaining()) channel.write(entries);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Could not write pattern database " + filename, e);
+		}
+	}
+
+	/**
+	 * Memory-maps the table from the given file, which must have been written by
+	 * save() for the same pattern
+	 */
+	protected void load(String filename) {
+		try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+			if (channel.size() != HEADER_BYTES + tableBytes())
+				throw new IllegalArgumentException("File " + filename + " is not a pattern database of this type");
+
+			// The mapping stays valid after the channel is closed
+			table = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (table.getInt(0) != MAGIC || table.getInt(4) != signature() || table.getLong(8) != size())
+				throw new IllegalArgumentException("File " + filename + " is not a pattern database of this type");
+			offset = HEADER_BYTES;
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Could not open pattern database " + filename
+				+ " (generate it first)", e);
+		}
+	}
+
+
+	// Getters
+
+	/**
+	 * Returns the number of pattern states at each distance from solved, if the
+	 * table was built in this JVM (otherwise null)
+	 */
+	public long[] getStatesAtDistance() {
+		return statesAtDistance;
+	}
+
+}
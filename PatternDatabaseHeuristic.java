@@ -0,0 +1,24 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This is a DistanceHeuristic that takes the largest distance given by
+* the corner pattern database and the two default edge pattern databases (see
+* CornerPatternDatabase and EdgePatternDatabase), loaded from their default files.
+* Between them the three tables cover every corner and edge, and the result is
+* admissible.
+***********************************************************************************/
+
+public class PatternDatabaseHeuristic extends CombinedHeuristic {
+
+	/**
+	 * Construct a PatternDatabaseHeuristic from the default pattern database files
+	 */
+	public PatternDatabaseHeuristic() {
+		super(MAX,
+			new CornerPatternDatabase(),
+			new EdgePatternDatabase(EdgePatternDatabase.DEFAULT_GROUP_1),
+			new EdgePatternDatabase(EdgePatternDatabase.DEFAULT_GROUP_2));
+	}
+
+}
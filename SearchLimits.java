@@ -0,0 +1,87 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This object checks a best-first search against the time, node and
+* memory limits in its SolverOptions, for the solvers that keep their nodes in a
+* NodeStore and an OpenList (see CubeSolver and AnytimeSolver). The clock starts
+* when it is made. Reading the clock costs more than expanding a node, so the
+* clock and memory are only checked every NODES_PER_CHECK nodes expanded.
+***********************************************************************************/
+
+import java.util.concurrent.TimeUnit;
+
+class SearchLimits {
+
+	// Constants
+
+	// The status of a search that has hit none of its limits
+	static final int WITHIN_LIMITS = -1;
+
+	static final int NODES_PER_CHECK = 1 << 12;
+
+	// Bytes a node waiting in the open list takes (an int and a double in a heap)
+	static final int OPEN_LIST_BYTES_PER_NODE = 12;
+
+
+	// Instance variables
+
+	/**
+	 * The settings holding the limits
+	 */
+	private SolverOptions options;
+
+	/**
+	 * The System.nanoTime() at which the search started, and the nanoseconds it may
+	 * run if it has a time limit
+	 */
+	private long start;
+	private long timeLimitNanos;
+
+
+	// Constructors
+
+	/**
+	 * Initializes a SearchLimits for the limits in the given settings, starting
+	 * the clock
+	 */
+	SearchLimits(SolverOptions options) {
+		if (options == null)
+			throw new NullPointerException("Arguments are null");
+
+		this.options 		= options;
+		this.start 			= System.nanoTime();
+		this.timeLimitNanos = TimeUnit.MILLISECONDS.toNanos(options.getTimeLimitMillis());
+	}
+
+
+	// Methods
+
+	/**
+	 * Returns the limit a search that has expanded the given number of nodes, with
+	 * the given nodes reached and waiting, has hit (SolveResult.NODE_LIMIT,
+	 * TIME_LIMIT or MEMORY_LIMIT), or WITHIN_LIMITS
+	 */
+	int check(long nodesExpanded, NodeStore nodes, OpenList open) {
+		if (options.getNodeLimit() > 0 && nodesExpanded >= options.getNodeLimit())
+			return SolveResult.NODE_LIMIT;
+		if (nodesExpanded % NODES_PER_CHECK != 0) return WITHIN_LIMITS;
+		if (options.getTimeLimitMillis() > 0 && System.nanoTime() - start > timeLimitNanos)
+			return SolveResult.TIME_LIMIT;
+		if (options.getMemoryLimitBytes() > 0 && memoryUsed(nodes, open) > options.getMemoryLimitBytes())
+			return SolveResult.MEMORY_LIMIT;
+		return WITHIN_LIMITS;
+	}
+
+
+	// Static methods
+
+	/**
+	 * Returns roughly the number of bytes the given nodes take: the nodes reached
+	 * (with the room the store has grown to) and the nodes waiting
+	 */
+	static long memoryUsed(NodeStore nodes, OpenList open) {
+		return nodes.bytesAllocated() + (long) open.size() * OPEN_LIST_BYTES_PER_NODE;
+	}
+
+}
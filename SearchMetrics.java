@@ -0,0 +1,240 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This object holds counters that describe how a CubeSolver search
+* went, for tuning distance heuristics and settings:
+* - the number of nodes generated (reached and queued) and expanded
+* - the number of neighbors pruned as duplicates of states already reached
+* - the largest number of nodes waiting in the open list at once
+* - the number of nodes generated at each depth
+* - the time spent computing distances, turning cubes, and in the open list
+*
+* The times are only measured when SolverOptions.setSearchTimings() is on, since
+* reading the clock several times per node slows the search down. When a search
+* ends, the counters are also emitted as a Java Flight Recorder event (see
+* SearchEvent), which is recorded when a recording with it enabled is running.
+***********************************************************************************/
+
+import java.util.Arrays;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+public class SearchMetrics {
+
+	// Constants
+
+	private static final int INITIAL_DEPTHS = 32;
+
+
+	// Instance variables
+
+	private long nodesGenerated;		// nodes reached and queued
+	private long nodesExpanded;			// nodes whose neighbors were searched
+	private long duplicatesPruned;		// neighbors skipped as already reached
+	private int peakOpenListSize;		// most nodes waiting at once
+	private long[] nodesAtDepth = new long[INITIAL_DEPTHS];	// nodes generated per depth
+	private int maxDepth;				// deepest depth a node was generated at
+	private long heuristicNanos;		// time in DistanceHeuristic.distance()
+	private long turnNanos;				// time turning cubes to generate neighbors
+	private long queueNanos;			// time inserting into and removing from the open list
+
+
+	// Helper classes
+
+	/**
+	 * The Java Flight Recorder event emitted at the end of each search, covering
+	 * the time the search took
+	 */
+	@Name("cube.Search")
+	@Label("Cube Search")
+	@Category("Cube Solver")
+	@Description("A search by a CubeSolver, with its counters")
+	static class SearchEvent extends Event {
+		@Label("Nodes Generated")
+		long nodesGenerated;
+
+		@Label("Nodes Expanded")
+		long nodesExpanded;
+
+		@Label("Duplicates Pruned")
+		long duplicatesPruned;
+
+		@Label("Peak Open List Size")
+		int peakOpenListSize;
+
+		@Label("Solution Depth")
+		int solutionDepth;
+
+		@Label("Heuristic Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long heuristicNanos;
+
+		@Label("Turn Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long turnNanos;
+
+		@Label("Queue Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long queueNanos;
+
+		/**
+		 * Copies the counters of the given SearchMetrics into this event
+		 */
+		void set(SearchMetrics metrics, int solutionDepth) {
+			this.nodesGenerated 	= metrics.nodesGenerated;
+			this.nodesExpanded 		= metrics.nodesExpanded;
+			this.duplicatesPruned 	= metrics.duplicatesPruned;
+			this.peakOpenListSize 	= metrics.peakOpenListSize;
+			this.solutionDepth 		= solutionDepth;
+			this.heuristicNanos 	= metrics.heuristicNanos;
+			this.turnNanos 			= metrics.turnNanos;
+			this.queueNanos 		= metrics.queueNanos;
+		}
+	}
+
+
+	// Constructors
+
+	/**
+	 * Construct SearchMetrics with every counter at 0
+	 */
+	public SearchMetrics() {}
+
+
+	// Methods
+
+	/**
+	 * Counts a node generated at the given depth, with the given number of nodes
+	 * then waiting in the open list
+	 */
+	void generated(int depth, int openListSize) {
+		nodesGenerated++;
+		if (depth >= nodesAtDepth.length)
+			nodesAtDepth = Arrays.copyOf(nodesAtDepth, Math.max(2 * nodesAtDepth.length, depth + 1));
+		nodesAtDepth[depth]++;
+		if (depth > maxDepth) maxDepth = depth;
+		if (openListSize > peakOpenListSize) peakOpenListSize = openListSize;
+	}
+
+	/**
+	 * Counts a node expanded
+	 */
+	void expanded() {
+		nodesExpanded++;
+	}
+
+	/**
+	 * Counts a neighbor pruned as a duplicate
+	 */
+	void duplicate() {
+		duplicatesPruned++;
+	}
+
+	/**
+	 * Adds the given time to the time spent computing distances
+	 */
+	void addHeuristicNanos(long nanos) {
+		heuristicNanos += nanos;
+	}
+
+	/**
+	 * Adds the given time to the time spent turning cubes
+	 */
+	void addTurnNanos(long nanos) {
+		turnNanos += nanos;
+	}
+
+	/**
+	 * Adds the given time to the time spent in the open list
+	 */
+	void addQueueNanos(long nanos) {
+		queueNanos += nanos;
+	}
+
+	/**
+	 * Returns a report of every counter, one per line
+	 */
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		s.append("Nodes generated:     " + nodesGenerated + "\n");
+		s.append("Nodes expanded:      " + nodesExpanded + "\n");
+		s.append("Duplicates pruned:   " + duplicatesPruned + "\n");
+		s.append("Peak open list size: " + peakOpenListSize + "\n");
+		s.append(String.format("Heuristic time (ms): %.3f%n", heuristicNanos / 1e6));
+		s.append(String.format("Turn time (ms):      %.3f%n", turnNanos / 1e6));
+		s.append(String.format("Queue time (ms):     %.3f%n", queueNanos / 1e6));
+		s.append("Nodes at each depth:");
+		for (int depth = 0; depth <= maxDepth; depth++) {
+			s.append("\n  " + depth + ": " + nodesAtDepth[depth]);
+		}
+		return s.toString();
+	}
+
+
+	// Getters
+
+	/**
+	 * Returns the number of nodes reached and queued, including the starting node
+	 */
+	public long getNodesGenerated() {
+		return nodesGenerated;
+	}
+
+	/**
+	 * Returns the number of nodes whose neighbors were searched
+	 */
+	public long getNodesExpanded() {
+		return nodesExpanded;
+	}
+
+	/**
+	 * Returns the number of neighbors skipped because their state had already been
+	 * reached in as few turns
+	 */
+	public long getDuplicatesPruned() {
+		return duplicatesPruned;
+	}
+
+	/**
+	 * Returns the largest number of nodes waiting in the open list at once
+	 */
+	public int getPeakOpenListSize() {
+		return peakOpenListSize;
+	}
+
+	/**
+	 * Returns the number of nodes generated at each depth, from 0 to the deepest
+	 */
+	public long[] getNodesAtDepth() {
+		return Arrays.copyOf(nodesAtDepth, maxDepth + 1);
+	}
+
+	/**
+	 * Returns the time spent in DistanceHeuristic.distance(), in nanoseconds
+	 */
+	public long getHeuristicNanos() {
+		return heuristicNanos;
+	}
+
+	/**
+	 * Returns the time spent turning cubes to generate neighbors, in nanoseconds
+	 */
+	public long getTurnNanos() {
+		return turnNanos;
+	}
+
+	/**
+	 * Returns the time spent inserting into and removing from the open list, in
+	 * nanoseconds
+	 */
+	public long getQueueNanos() {
+		return queueNanos;
+	}
+
+}
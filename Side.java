@@ -5,6 +5,13 @@
 * Description: This class is a library with operations that can be done on a single 
 * side of a Rubik's Cube. The side is identified by the Coordinate of the plane in 
 * which the side lives.
+*
+* Turns are applied with move tables. When the class is loaded, each side is
+* turned once on a solved cube by walking its Cublets (the original, object-based
+* turn below), and the resulting permutation and orientation change of the corner
+* and edge slots is recorded; half and counter-clockwise turns are derived from
+* those tables. Turning a Cube in any direction afterwards is a fixed-length lookup on
+* its packed state that allocates nothing but the new Cube.
 ***********************************************************************************/
 
 public final class Side {
@@ -13,6 +20,311 @@ public final class Side {
 	private static final boolean BUILD_SIDE_ARRAY = true;
 	private static final boolean APPLY_SIDE_ARRAY = false;
 
+	// Integer labels to identify the six sides
+	public static final int NUM_FACES = 6;
+	public static final int FACE_B 	  = 0;
+	public static final int FACE_F 	  = 1;
+	public static final int FACE_L 	  = 2;
+	public static final int FACE_R 	  = 3;
+	public static final int FACE_D 	  = 4;
+	public static final int FACE_U 	  = 5;
+
+	// Integer labels to identify the direction of a turn
+	public static final int NUM_DIRECTIONS 	  = 3;
+	public static final int CLOCKWISE 		  = 0;
+	public static final int HALF 			  = 1;
+	public static final int COUNTER_CLOCKWISE = 2;
+
+	// The number of distinct turns (every side in every direction). A turn is
+	// labeled face * NUM_DIRECTIONS + direction
+	public static final int NUM_MOVES = NUM_FACES * NUM_DIRECTIONS;
+
+	private static final String[] FACE_NAMES 	  = { "B", "F", "L", "R", "D", "U" };
+	private static final String[] DIRECTION_NAMES = { "", "2", "'" };
+
+	// The labels of every quarter turn (a clockwise and a counter-clockwise turn
+	// of each side), which are the moves a search makes
+	static final int[] QUARTER_TURNS = buildQuarterTurns();
+
+	private static final int CUBLETS_PER_CYCLE = 4;	// corners (or edges) moved by a turn
+	private static final int CORNER_COLORS 	   = 3;	// orientations of a corner
+
+	// Move tables for every turn, indexed by move label
+	private static final TurnTable[] TURNS = buildTurnTables();
+
+
+	// Move tables
+
+	/**
+	 * Helper class to hold the move table of one turn. Slot cornerTo[i] receives
+	 * the corner that was in slot cornerFrom[i], twisted by cornerTwist[i] (and
+	 * likewise for edges). The masks cover the bits of every slot that moves.
+	 */
+	private static class TurnTable {
+		private int[] cornerTo 	  = new int[CUBLETS_PER_CYCLE];
+		private int[] cornerFrom  = new int[CUBLETS_PER_CYCLE];
+		private int[] cornerTwist = new int[CUBLETS_PER_CYCLE];
+		private int[] edgeTo 	  = new int[CUBLETS_PER_CYCLE];
+		private int[] edgeFrom 	  = new int[CUBLETS_PER_CYCLE];
+		private int[] edgeFlip 	  = new int[CUBLETS_PER_CYCLE];
+		private long cornerMask;
+		private long edgeMask;
+
+		/**
+		 * Builds the move table of the turn that takes a solved cube to the
+		 * given Cube
+		 */
+		private TurnTable(Cube turnedSolved) {
+			int numCorners = 0;
+			for (int slot = 0; slot < Cube.NUM_CORNERS; slot++) {
+				int value = Cube.slotValue(turnedSolved.corners(), slot);
+				if (value == slot) continue;	// slot did not move
+
+				cornerTo[numCorners]	= slot;
+				cornerFrom[numCorners] 	= value & Cube.CORNER_INDEX_MASK;
+				cornerTwist[numCorners] = value >>> Cube.CORNER_INDEX_BITS;
+				cornerMask |= (long) Cube.SLOT_MASK << (Cube.BITS_PER_SLOT * slot);
+				numCorners++;
+			}
+
+			int numEdges = 0;
+			for (int slot = 0; slot < Cube.NUM_EDGES; slot++) {
+				int value = Cube.slotValue(turnedSolved.edges(), slot);
+				if (value == slot) continue;	// slot did not move
+
+				edgeTo[numEdges]   = slot;
+				edgeFrom[numEdges] = value & Cube.EDGE_INDEX_MASK;
+				edgeFlip[numEdges] = value >>> Cube.EDGE_INDEX_BITS;
+				edgeMask |= (long) Cube.SLOT_MASK << (Cube.BITS_PER_SLOT * slot);
+				numEdges++;
+			}
+
+			if (numCorners != CUBLETS_PER_CYCLE || numEdges != CUBLETS_PER_CYCLE)
+				throw new RuntimeException("Error building move table: a turn must move 4 corners and 4 edges.");
+		}
+	}
+
+	/**
+	 * Returns the labels of every quarter turn
+	 */
+	private static int[] buildQuarterTurns() {
+		int[] moves = new int[2 * NUM_FACES];
+		for (int face = 0; face < NUM_FACES; face++) {
+			moves[2 * face] 	= move(face, CLOCKWISE);
+			moves[2 * face + 1] = move(face, COUNTER_CLOCKWISE);
+		}
+		return moves;
+	}
+
+	/**
+	 * Returns the move tables for every turn. Clockwise turns are built by turning
+	 * a solved cube Cublet by Cublet; half and counter-clockwise turns are built
+	 * from those by repeating the clockwise table two and three times.
+	 */
+	private static TurnTable[] buildTurnTables() {
+		Cube solved = new Cube();
+		Cube[] clockwise = new Cube[NUM_FACES];
+		clockwise[FACE_B] = turnClockwiseByCublets(Cube.B, solved);
+		clockwise[FACE_F] = turnClockwiseByCublets(Cube.F, solved);
+		clockwise[FACE_L] = turnClockwiseByCublets(Cube.L, solved);
+		clockwise[FACE_R] = turnClockwiseByCublets(Cube.R, solved);
+		clockwise[FACE_D] = turnClockwiseByCublets(Cube.D, solved);
+		clockwise[FACE_U] = turnClockwiseByCublets(Cube.U, solved);
+
+		TurnTable[] tables = new TurnTable[NUM_MOVES];
+		for (int face = 0; face < NUM_FACES; face++) {
+			TurnTable table = new TurnTable(clockwise[face]);
+			Cube half = apply(clockwise[face], table);
+			Cube counterClockwise = apply(half, table);
+
+			tables[move(face, CLOCKWISE)] 		  = table;
+			tables[move(face, HALF)] 			  = new TurnTable(half);
+			tables[move(face, COUNTER_CLOCKWISE)] = new TurnTable(counterClockwise);
+		}
+		return tables;
+	}
+
+	/**
+	 * Returns the packed corner state after applying the given move table
+	 */
+	private static long applyToCorners(long corners, TurnTable table) {
+		long turned = corners & ~table.cornerMask;
+		for (int i = 0; i < CUBLETS_PER_CYCLE; i++) {
+			int value = Cube.slotValue(corners, table.cornerFrom[i]);
+			int orientation = ((value >>> Cube.CORNER_INDEX_BITS) + table.cornerTwist[i]) % CORNER_COLORS;
+			int turnedValue = Cube.cornerValue(value & Cube.CORNER_INDEX_MASK, orientation);
+			turned |= (long) turnedValue << (Cube.BITS_PER_SLOT * table.cornerTo[i]);
+		}
+		return turned;
+	}
+
+	/**
+	 * Returns the packed edge state after applying the given move table
+	 */
+	private static long applyToEdges(long edges, TurnTable table) {
+		long turned = edges & ~table.edgeMask;
+		for (int i = 0; i < CUBLETS_PER_CYCLE; i++) {
+			int value = Cube.slotValue(edges, table.edgeFrom[i]);
+			int turnedValue = value ^ (table.edgeFlip[i] << Cube.EDGE_INDEX_BITS);
+			turned |= (long) turnedValue << (Cube.BITS_PER_SLOT * table.edgeTo[i]);
+		}
+		return turned;
+	}
+
+	/**
+	 * Returns the packed corner state after making the given move
+	 */
+	static long turnCorners(long corners, int move) {
+		return applyToCorners(corners, TURNS[move]);
+	}
+
+	/**
+	 * Returns the packed edge state after making the given move
+	 */
+	static long turnEdges(long edges, int move) {
+		return applyToEdges(edges, TURNS[move]);
+	}
+
+	/**
+	 * Returns the hash (see Cube.stateHash()) of a cube after making the given
+	 * move, from its hash and its packed states before and after the move. Only
+	 * the keys of the 4 corner and 4 edge slots the move changes are XOR-ed.
+	 */
+	static long turnHash(long hash, long corners, long turnedCorners, long edges, long turnedEdges,
+			int move) {
+		TurnTable table = TURNS[move];
+		for (int i = 0; i < CUBLETS_PER_CYCLE; i++) {
+			int slot = table.cornerTo[i];
+			hash ^= Cube.cornerKey(slot, Cube.slotValue(corners, slot))
+				  ^ Cube.cornerKey(slot, Cube.slotValue(turnedCorners, slot));
+			slot = table.edgeTo[i];
+			hash ^= Cube.edgeKey(slot, Cube.slotValue(edges, slot))
+				  ^ Cube.edgeKey(slot, Cube.slotValue(turnedEdges, slot));
+		}
+		return hash;
+	}
+
+	/**
+	 * Returns a new Cube with the given move table applied
+	 */
+	private static Cube apply(Cube cube, TurnTable table) {
+		return new Cube(applyToCorners(cube.corners(), table), applyToEdges(cube.edges(), table));
+	}
+
+	/**
+	 * Returns the label of the turn of the given face in the given direction
+	 */
+	public static int move(int face, int direction) {
+		return face * NUM_DIRECTIONS + direction;
+	}
+
+	/**
+	 * Returns the face label of the side turned by the given move
+	 */
+	public static int faceOf(int move) {
+		return move / NUM_DIRECTIONS;
+	}
+
+	/**
+	 * Returns the direction in which the given move turns its side
+	 */
+	public static int directionOf(int move) {
+		return move % NUM_DIRECTIONS;
+	}
+
+	/**
+	 * Returns the move that undoes the given move
+	 */
+	public static int inverse(int move) {
+		return move(faceOf(move), NUM_DIRECTIONS - 1 - directionOf(move));
+	}
+
+	/**
+	 * Returns the string representation of the given move in standard cube
+	 * notation, e.g. "R", "R2", or "R'"
+	 */
+	public static String moveToString(int move) {
+		return FACE_NAMES[faceOf(move)] + DIRECTION_NAMES[directionOf(move)];
+	}
+
+	/**
+	 * Returns the given moves as a comma-separated string in standard cube
+	 * notation, e.g. "R,U2,F'", as the solvers report their algorithms
+	 */
+	public static String movesToString(int[] moves) {
+		return movesToString(moves, moves.length);
+	}
+
+	/**
+	 * Returns the first numMoves of the given moves as a comma-separated string in
+	 * standard cube notation
+	 */
+	public static String movesToString(int[] moves, int numMoves) {
+		StringBuilder s = new StringBuilder();
+		for (int i = 0; i < numMoves; i++) {
+			if (i > 0) s.append(",");
+			s.append(moveToString(moves[i]));
+		}
+		return s.toString();
+	}
+
+	/**
+	 * Returns the move written in standard cube notation by the given string, e.g.
+	 * "R", "R2", or "R'"
+	 */
+	public static int stringToMove(String s) {
+		if (s == null)
+			throw new NullPointerException("Arguments are null");
+		for (int move = 0; move < NUM_MOVES; move++) {
+			if (moveToString(move).equals(s)) return move;
+		}
+		throw new IllegalArgumentException("Not a move: " + s);
+	}
+
+	/**
+	 * Returns the moves of the given comma-separated string in standard cube
+	 * notation, as the solvers report their algorithms
+	 */
+	public static int[] stringToMoves(String algorithm) {
+		if (algorithm == null)
+			throw new NullPointerException("Arguments are null");
+		if (algorithm.isEmpty()) return new int[0];
+		String[] tokens = algorithm.split(",");
+		int[] moves = new int[tokens.length];
+		for (int i = 0; i < tokens.length; i++) {
+			moves[i] = stringToMove(tokens[i]);
+		}
+		return moves;
+	}
+
+	/**
+	 * Returns the face label of the given side
+	 */
+	public static int face(XCoordinate side) {
+		if 		(side.equals(Cube.B)) return FACE_B;
+		else if (side.equals(Cube.F)) return FACE_F;
+		else throw new IllegalArgumentException("XCoordinate " + side.value() + " is not a side");
+	}
+
+	/**
+	 * Returns the face label of the given side
+	 */
+	public static int face(YCoordinate side) {
+		if 		(side.equals(Cube.L)) return FACE_L;
+		else if (side.equals(Cube.R)) return FACE_R;
+		else throw new IllegalArgumentException("YCoordinate " + side.value() + " is not a side");
+	}
+
+	/**
+	 * Returns the face label of the given side
+	 */
+	public static int face(ZCoordinate side) {
+		if 		(side.equals(Cube.D)) return FACE_D;
+		else if (side.equals(Cube.U)) return FACE_U;
+		else throw new IllegalArgumentException("ZCoordinate " + side.value() + " is not a side");
+	}
+
+
 	// Helper methods
 
 	/**
@@ -413,12 +725,11 @@ public final class Side {
 	
 	
 
-	// Static methods
-
 	/**
-	 * Returns a new Cube with the given side turned clockwise
+	 * Returns a new Cube with the given side turned clockwise, by moving each of
+	 * the side's Cublets. Only used to build the move tables.
 	 */
-	public static Cube turnClockwise(XCoordinate side, Cube cube) {
+	private static Cube turnClockwiseByCublets(XCoordinate side, Cube cube) {
 		Cublet[][][] allCublets = buildCubletArray(cube);
 		Cublet[] sideCublets 	= buildSideArray(allCublets, side);
 
@@ -431,9 +742,10 @@ public final class Side {
 	}
 
 	/**
-	 * Returns a new Cube with the given side turned clockwise
+	 * Returns a new Cube with the given side turned clockwise, by moving each of
+	 * the side's Cublets. Only used to build the move tables.
 	 */
-	public static Cube turnClockwise(YCoordinate side, Cube cube) {
+	private static Cube turnClockwiseByCublets(YCoordinate side, Cube cube) {
 		Cublet[][][] allCublets = buildCubletArray(cube);
 		Cublet[] sideCublets 	= buildSideArray(allCublets, side);
 
@@ -446,9 +758,10 @@ public final class Side {
 	}
 
 	/**
-	 * Returns a new Cube with the given side turned clockwise
+	 * Returns a new Cube with the given side turned clockwise, by moving each of
+	 * the side's Cublets. Only used to build the move tables.
 	 */
-	public static Cube turnClockwise(ZCoordinate side, Cube cube) {
+	private static Cube turnClockwiseByCublets(ZCoordinate side, Cube cube) {
 		Cublet[][][] allCublets = buildCubletArray(cube);
 		Cublet[] sideCublets 	= buildSideArray(allCublets, side);
 
@@ -460,4 +773,80 @@ public final class Side {
 		return new Cube(allCublets);	
 	}
 
+
+	// Static methods
+
+	/**
+	 * Returns a new Cube with the given move applied
+	 */
+	public static Cube turn(int move, Cube cube) {
+		long corners = turnCorners(cube.corners(), move);
+		long edges 	 = turnEdges(cube.edges(), move);
+		return new Cube(corners, edges,
+			turnHash(cube.stateHash(), cube.corners(), corners, cube.edges(), edges, move));
+	}
+
+	/**
+	 * Returns a new Cube with the given side turned clockwise
+	 */
+	public static Cube turnClockwise(XCoordinate side, Cube cube) {
+		return turn(move(face(side), CLOCKWISE), cube);
+	}
+
+	/**
+	 * Returns a new Cube with the given side turned clockwise
+	 */
+	public static Cube turnClockwise(YCoordinate side, Cube cube) {
+		return turn(move(face(side), CLOCKWISE), cube);
+	}
+
+	/**
+	 * Returns a new Cube with the given side turned clockwise
+	 */
+	public static Cube turnClockwise(ZCoordinate side, Cube cube) {
+		return turn(move(face(side), CLOCKWISE), cube);
+	}
+
+	/**
+	 * Returns a new Cube with the given side turned counter-clockwise
+	 */
+	public static Cube turnCounterClockwise(XCoordinate side, Cube cube) {
+		return turn(move(face(side), COUNTER_CLOCKWISE), cube);
+	}
+
+	/**
+	 * Returns a new Cube with the given side turned counter-clockwise
+	 */
+	public static Cube turnCounterClockwise(YCoordinate side, Cube cube) {
+		return turn(move(face(side), COUNTER_CLOCKWISE), cube);
+	}
+
+	/**
+	 * Returns a new Cube with the given side turned counter-clockwise
+	 */
+	public static Cube turnCounterClockwise(ZCoordinate side, Cube cube) {
+		return turn(move(face(side), COUNTER_CLOCKWISE), cube);
+	}
+
+	/**
+	 * Returns a new Cube with the given side turned twice
+	 */
+	public static Cube turnHalf(XCoordinate side, Cube cube) {
+		return turn(move(face(side), HALF), cube);
+	}
+
+	/**
+	 * Returns a new Cube with the given side turned twice
+	 */
+	public static Cube turnHalf(YCoordinate side, Cube cube) {
+		return turn(move(face(side), HALF), cube);
+	}
+
+	/**
+	 * Returns a new Cube with the given side turned twice
+	 */
+	public static Cube turnHalf(ZCoordinate side, Cube cube) {
+		return turn(move(face(side), HALF), cube);
+	}
+
 }
\ No newline at end of file
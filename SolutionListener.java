@@ -0,0 +1,21 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: SolutionListener is an interface for an object that is told each
+* time an anytime search (see AnytimeSolver) improves its solution, so a client can
+* use a solution right away and switch to a shorter one as it is found.
+***********************************************************************************/
+
+public interface SolutionListener {
+
+	/**
+	 * Called with a new solution, as a comma-separated list of moves in standard
+	 * cube notation, and a bound on how far it may be from optimal: the solution
+	 * is at most suboptimality times as long as the shortest solution. A bound of
+	 * 1 means the solution is proven optimal (given an admissible distance), and
+	 * an infinite bound means nothing is proven yet.
+	 */
+	public void solutionFound(String solveAlgorithm, double suboptimality);
+
+}
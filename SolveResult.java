@@ -0,0 +1,117 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This object holds how a CubeSolver search ended: whether it solved
+* the cube, or was cut off by one of the limits in SolverOptions (or ran out of
+* nodes to expand). Along with the solution, if any, it holds the best progress
+* the search made: the cube with the smallest distance reached, and the algorithm
+* that reaches it from the given cube. A search that was cut off can be picked up
+* from there, e.g. by solving the best cube with a larger budget.
+***********************************************************************************/
+
+public class SolveResult {
+
+	// Constants
+
+	// Integer labels to identify how a search ended
+	public static final int SOLVED 		 = 0;	// the cube was solved
+	public static final int TIME_LIMIT 	 = 1;	// the deadline passed
+	public static final int NODE_LIMIT 	 = 2;	// the maximum number of nodes were expanded
+	public static final int MEMORY_LIMIT = 3;	// the search grew past its memory cap
+	public static final int EXHAUSTED 	 = 4;	// no nodes were left to expand
+
+	private static final String[] STATUS_NAMES = { "solved", "time limit reached",
+		"node limit reached", "memory limit reached", "search exhausted" };
+
+
+	// Instance variables
+
+	private int status;				// how the search ended
+	private String solveAlgorithm;	// the solution, or null if not solved
+	private Cube bestCube;			// the cube with the smallest distance reached
+	private String bestAlgorithm;	// the algorithm reaching bestCube
+	private int bestDistance;		// the distance of bestCube
+
+
+	// Constructors
+
+	/**
+	 * Construct a SolveResult with the given status, solution (null unless solved),
+	 * and best cube reached with the algorithm reaching it and its distance
+	 */
+	public SolveResult(int status, String solveAlgorithm, Cube bestCube, String bestAlgorithm,
+		int bestDistance) {
+		if (status < SOLVED || status > EXHAUSTED)
+			throw new IllegalArgumentException("Unknown status: " + status);
+		if (bestCube == null || bestAlgorithm == null)
+			throw new NullPointerException("Arguments are null");
+		if ((status == SOLVED) != (solveAlgorithm != null))
+			throw new IllegalArgumentException("Only a solved result has a solution");
+
+		this.status 		= status;
+		this.solveAlgorithm = solveAlgorithm;
+		this.bestCube 		= new Cube(bestCube);
+		this.bestAlgorithm 	= bestAlgorithm;
+		this.bestDistance 	= bestDistance;
+	}
+
+
+	// Methods
+
+	/**
+	 * Returns whether the search solved the cube
+	 */
+	public boolean isSolved() {
+		return status == SOLVED;
+	}
+
+	/**
+	 * Returns how the search ended and the best progress it made
+	 */
+	public String toString() {
+		if (isSolved()) return STATUS_NAMES[status] + ": " + solveAlgorithm;
+		return STATUS_NAMES[status] + "; best distance " + bestDistance + " after: " + bestAlgorithm;
+	}
+
+
+	// Getters
+
+	/**
+	 * Returns how the search ended: SOLVED, TIME_LIMIT, NODE_LIMIT, MEMORY_LIMIT
+	 * or EXHAUSTED
+	 */
+	public int getStatus() {
+		return status;
+	}
+
+	/**
+	 * Returns the algorithm solving the cube, or null if the search was cut off
+	 */
+	public String getSolveAlgorithm() {
+		return solveAlgorithm;
+	}
+
+	/**
+	 * Returns the cube with the smallest distance the search reached (the solved
+	 * cube if it was solved)
+	 */
+	public Cube getBestCube() {
+		return new Cube(bestCube);
+	}
+
+	/**
+	 * Returns the algorithm reaching the best cube from the given cube
+	 */
+	public String getBestAlgorithm() {
+		return bestAlgorithm;
+	}
+
+	/**
+	 * Returns the distance of the best cube
+	 */
+	public int getBestDistance() {
+		return bestDistance;
+	}
+
+}
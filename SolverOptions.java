@@ -0,0 +1,246 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This object holds the settings a CubeSolver runs with. It is built
+* with default settings, which can then be changed with the setters before passing
+* it to a CubeSolver. The default search is greedy best-first search, as in the
+* original solver, but unlike the original solver it records visited states in a
+* table of TranspositionTable.DEFAULT_CAPACITY and skips states already
+* reached in as few turns. Set the capacity to 0 to search every duplicate again.
+***********************************************************************************/
+
+public class SolverOptions {
+
+	// Constants
+
+	// Integer labels to identify the search strategy
+	public static final int GREEDY = 0;	// expand the node with the smallest h
+	public static final int A_STAR = 1;	// expand the node with the smallest g + w * h
+
+	// Integer labels to identify the open list (the queue of unexpanded nodes)
+	public static final int HEAP 	= 0;	// a binary heap (see HeapOpenList)
+	public static final int BUCKETS = 1;	// buckets indexed by priority (see BucketOpenList)
+
+
+	// Instance variables
+
+	private int searchMode = GREEDY;	// the search strategy
+	private double weight  = 1.0;		// the weight w on h in A* mode
+
+	// Size of the table of visited states (0 to disable it) and what it does
+	// when it is full (see TranspositionTable)
+	private int transpositionTableCapacity = TranspositionTable.DEFAULT_CAPACITY;
+	private int evictionPolicy = TranspositionTable.REPLACE_DEEPEST;
+
+	// Whether the table of visited states keys each state on the representative
+	// of its class of symmetric states (see Symmetry)
+	private boolean symmetryReduction = false;
+
+	private int openList = HEAP;	// the queue of unexpanded nodes
+
+	// Whether the search measures where its time goes (see SearchMetrics)
+	private boolean searchTimings = false;
+
+	// Limits on the search, each 0 for no limit: the wall-clock time it may take,
+	// the number of nodes it may expand, and roughly the memory its nodes may use
+	private long timeLimitMillis  = 0;
+	private long nodeLimit        = 0;
+	private long memoryLimitBytes = 0;
+
+
+	// Constructors
+
+	/**
+	 * Construct SolverOptions with the default settings
+	 */
+	public SolverOptions() {}
+
+
+	// Getters
+
+	/**
+	 * Returns the search strategy, either GREEDY or A_STAR
+	 */
+	public int getSearchMode() {
+		return searchMode;
+	}
+
+	/**
+	 * Returns the weight on the heuristic used in A* mode
+	 */
+	public double getWeight() {
+		return weight;
+	}
+
+	/**
+	 * Returns the number of states the table of visited states can hold, or 0 if
+	 * the solver does not record visited states
+	 */
+	public int getTranspositionTableCapacity() {
+		return transpositionTableCapacity;
+	}
+
+	/**
+	 * Returns the eviction policy of the table of visited states
+	 */
+	public int getEvictionPolicy() {
+		return evictionPolicy;
+	}
+
+	/**
+	 * Returns whether the table of visited states treats symmetric states as the
+	 * same state
+	 */
+	public boolean getSymmetryReduction() {
+		return symmetryReduction;
+	}
+
+	/**
+	 * Returns the open list the solver keeps unexpanded nodes in, either HEAP or
+	 * BUCKETS
+	 */
+	public int getOpenList() {
+		return openList;
+	}
+
+	/**
+	 * Returns whether the solver measures the time spent in each part of the search
+	 */
+	public boolean getSearchTimings() {
+		return searchTimings;
+	}
+
+	/**
+	 * Returns the number of milliseconds the search may take, or 0 for no limit
+	 */
+	public long getTimeLimitMillis() {
+		return timeLimitMillis;
+	}
+
+	/**
+	 * Returns the number of nodes the search may expand, or 0 for no limit
+	 */
+	public long getNodeLimit() {
+		return nodeLimit;
+	}
+
+	/**
+	 * Returns the approximate number of bytes the search's nodes may use, or 0 for
+	 * no limit
+	 */
+	public long getMemoryLimitBytes() {
+		return memoryLimitBytes;
+	}
+
+
+	// Setters
+
+	/**
+	 * Sets the search strategy, either GREEDY or A_STAR
+	 */
+	public void setSearchMode(int searchMode) {
+		if (searchMode != GREEDY && searchMode != A_STAR)
+			throw new IllegalArgumentException("Unknown search mode: " + searchMode);
+		this.searchMode = searchMode;
+	}
+
+	/**
+	 * Sets the weight w on the heuristic in A* mode, which orders nodes by
+	 * g + w * h. A weight of 1 gives plain A*; larger weights give weighted A*,
+	 * which expands fewer nodes but may find longer solutions.
+	 */
+	public void setWeight(double weight) {
+		if (!(weight > 0))
+			throw new IllegalArgumentException("Weight must be positive");
+		this.weight = weight;
+	}
+
+	/**
+	 * Sets the number of states the table of visited states can hold. A state
+	 * reached again at the same depth or deeper is not searched again. A capacity
+	 * of 0 disables the table, so duplicate states are searched every time.
+	 */
+	public void setTranspositionTableCapacity(int transpositionTableCapacity) {
+		if (transpositionTableCapacity < 0)
+			throw new IllegalArgumentException("Capacity must not be negative");
+		this.transpositionTableCapacity = transpositionTableCapacity;
+	}
+
+	/**
+	 * Sets what the table of visited states does when it is full (one of the
+	 * eviction policies in TranspositionTable)
+	 */
+	public void setEvictionPolicy(int evictionPolicy) {
+		if (evictionPolicy != TranspositionTable.NEVER_REPLACE
+			&& evictionPolicy != TranspositionTable.ALWAYS_REPLACE
+			&& evictionPolicy != TranspositionTable.REPLACE_DEEPEST)
+			throw new IllegalArgumentException("Unknown eviction policy: " + evictionPolicy);
+		this.evictionPolicy = evictionPolicy;
+	}
+
+	/**
+	 * Sets whether the table of visited states treats symmetric states as the
+	 * same state. Symmetric states are the same distance from solved, so a state
+	 * symmetric to one already reached in as few turns is not searched again. This
+	 * prunes more states and lets the table hold up to 48 times as many classes,
+	 * at the cost of finding the representative of every state reached.
+	 */
+	public void setSymmetryReduction(boolean symmetryReduction) {
+		this.symmetryReduction = symmetryReduction;
+	}
+
+	/**
+	 * Sets the open list the solver keeps unexpanded nodes in, either HEAP or
+	 * BUCKETS. Buckets insert and remove nodes in constant time rather than time
+	 * logarithmic in the number of nodes, which matters once millions of nodes
+	 * are waiting, and break ties in priority in favor of the smaller distance.
+	 */
+	public void setOpenList(int openList) {
+		if (openList != HEAP && openList != BUCKETS)
+			throw new IllegalArgumentException("Unknown open list: " + openList);
+		this.openList = openList;
+	}
+
+	/**
+	 * Sets whether the solver measures the time spent computing distances, turning
+	 * cubes and in the open list (see SearchMetrics). Measuring reads the clock
+	 * several times per node, which slows the search down, so it is off by default.
+	 */
+	public void setSearchTimings(boolean searchTimings) {
+		this.searchTimings = searchTimings;
+	}
+
+	/**
+	 * Sets the number of milliseconds the search may take before it is cut off, or
+	 * 0 for no limit. The clock is only read every so many nodes, so the search may
+	 * run slightly past the limit.
+	 */
+	public void setTimeLimitMillis(long timeLimitMillis) {
+		if (timeLimitMillis < 0)
+			throw new IllegalArgumentException("Time limit must not be negative");
+		this.timeLimitMillis = timeLimitMillis;
+	}
+
+	/**
+	 * Sets the number of nodes the search may expand before it is cut off, or 0
+	 * for no limit
+	 */
+	public void setNodeLimit(long nodeLimit) {
+		if (nodeLimit < 0)
+			throw new IllegalArgumentException("Node limit must not be negative");
+		this.nodeLimit = nodeLimit;
+	}
+
+	/**
+	 * Sets the approximate number of bytes the search's nodes may use before it is
+	 * cut off, or 0 for no limit. This counts the nodes reached and the open list,
+	 * not the table of visited states, which is allocated up front at its capacity.
+	 */
+	public void setMemoryLimitBytes(long memoryLimitBytes) {
+		if (memoryLimitBytes < 0)
+			throw new IllegalArgumentException("Memory limit must not be negative");
+		this.memoryLimitBytes = memoryLimitBytes;
+	}
+
+}
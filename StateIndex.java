@@ -0,0 +1,160 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This object is an open-addressing hash table from cube states to a
+* fixed number of int columns, for searches that must find again every state they
+* reached (see AnytimeSolver and BidirectionalSolver). Each column holds a value per
+* state, such as the node it was reached at, and is NONE until it is set. States
+* are stored whole, so two states with the same hash are never confused, and no
+* packed state is 0, so 0 marks an empty entry. The table doubles when half full.
+***********************************************************************************/
+
+import java.util.Arrays;
+
+class StateIndex {
+
+	// Constants
+
+	// The value of a column that has not been set
+	static final int NONE = NodeStore.NONE;
+
+	static final int DEFAULT_CAPACITY = 1 << 12;
+
+
+	// Instance variables
+
+	/**
+	 * The packed state of each entry (0 for an empty entry)
+	 */
+	private long[] corners;
+	private long[] edges;
+
+	/**
+	 * The values of each column, indexed by column and then entry
+	 */
+	private int[][] columns;
+
+	/**
+	 * The number of states in the table
+	 */
+	private int size;
+
+
+	// Constructors
+
+	/**
+	 * Initializes an empty StateIndex with the given number of columns
+	 */
+	StateIndex(int numColumns) {
+		if (numColumns < 1)
+			throw new IllegalArgumentException("numColumns must be positive");
+
+		this.corners = new long[DEFAULT_CAPACITY];
+		this.edges 	 = new long[DEFAULT_CAPACITY];
+		this.columns = new int[numColumns][];
+		for (int column = 0; column < numColumns; column++) {
+			columns[column] = newColumn(DEFAULT_CAPACITY);
+		}
+	}
+
+
+	// Helper methods
+
+	/**
+	 * Returns the entry holding the given state, or the empty entry where it would go
+	 */
+	private int find(long cubeCorners, long cubeEdges, long hash) {
+		int mask = corners.length - 1;
+		int entry = (int) (hash ^ (hash >>> 32)) & mask;
+		while (corners[entry] != 0 && (corners[entry] != cubeCorners || edges[entry] != cubeEdges)) {
+			entry = (entry + 1) & mask;
+		}
+		return entry;
+	}
+
+	/**
+	 * Doubles the capacity of the table
+	 */
+	private void grow() {
+		long[] oldCorners = corners;
+		long[] oldEdges = edges;
+		int[][] oldColumns = columns;
+
+		int capacity = 2 * oldCorners.length;
+		corners = new long[capacity];
+		edges = new long[capacity];
+		columns = new int[oldColumns.length][];
+		for (int column = 0; column < columns.length; column++) {
+			columns[column] = newColumn(capacity);
+		}
+		for (int i = 0; i < oldCorners.length; i++) {
+			if (oldCorners[i] == 0) continue;
+			int entry = find(oldCorners[i], oldEdges[i], Cube.zobristHash(oldCorners[i], oldEdges[i]));
+			corners[entry] = oldCorners[i];
+			edges[entry] = oldEdges[i];
+			for (int column = 0; column < columns.length; column++) {
+				columns[column][entry] = oldColumns[column][i];
+			}
+		}
+	}
+
+	/**
+	 * Returns a column of the given capacity with every value NONE
+	 */
+	private static int[] newColumn(int capacity) {
+		int[] column = new int[capacity];
+		Arrays.fill(column, NONE);
+		return column;
+	}
+
+
+	// Methods
+
+	/**
+	 * Returns the entry holding the given Cube's state, adding it (with every
+	 * column NONE) if it is not in the table. An entry stays valid until the next
+	 * state is added.
+	 */
+	int entryOf(Cube cube) {
+		int entry = find(cube.corners(), cube.edges(), cube.stateHash());
+		if (corners[entry] != 0) return entry;
+
+		if (2 * (size + 1) > corners.length) {
+			grow();
+			entry = find(cube.corners(), cube.edges(), cube.stateHash());
+		}
+		corners[entry] = cube.corners();
+		edges[entry] = cube.edges();
+		size++;
+		return entry;
+	}
+
+
+	// Getters
+
+	/**
+	 * Returns the value of the given column at the given entry
+	 */
+	int get(int column, int entry) {
+		return columns[column][entry];
+	}
+
+	/**
+	 * Returns the number of states in the table
+	 */
+	int size() {
+		return size;
+	}
+
+
+	// Setters
+
+	/**
+	 * Sets the value of the given column at the given entry
+	 */
+	void set(int column, int entry, int value) {
+		columns[column][entry] = value;
+	}
+
+}
@@ -0,0 +1,512 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This class is a library for the 48 spatial symmetries of the cube
+* (the 24 rotations, each with and without a reflection). A symmetry maps every
+* position (x, y, z) to another by permuting the axes and reversing some of them.
+* Conjugating a cube by a symmetry moves every cublet of it to the symmetric
+* position, and turns it to match, so that the result is the same cube seen in a
+* mirror or from another side. A cube and its conjugates are the same distance
+* from solved (a solution of one, conjugated move by move, solves the other), so
+* tables keyed on cube states can store one entry per class of symmetric cubes,
+* keyed on a representative of the class (see representative()).
+*
+* Orientations are geometric: a corner's orientation says which of its stickers
+* faces the D or U axis, counted around the corner, and an edge's orientation says
+* whether its reference sticker (D or U if it has one, else B or F) is on the
+* reference side of its slot. When the class is loaded, the direction corners are
+* counted in is derived from the move tables of Side, and this description of
+* orientations is checked against every turn. Then conjugation tables are built
+* for every symmetry, slot and slot value, so that conjugating a packed state is
+* a fixed number of lookups.
+***********************************************************************************/
+
+public final class Symmetry {
+
+	// Constants
+
+	public static final int NUM_SYMMETRIES = 48;
+	public static final int IDENTITY 		= 0;
+
+	// Integer labels to identify the axes
+	private static final int NUM_AXES 	= 3;
+	private static final int X 			= 0;
+	private static final int Y 			= 1;
+	private static final int Z 			= 2;
+
+	private static final int MIDDLE = 1;	// coordinate of the middle layer of an axis
+	private static final int LAST 	= 2;	// coordinate of the last layer of an axis
+
+	private static final int CORNER_COLORS 	 = 3;
+	private static final int EDGE_COLORS 	 = 2;
+	private static final int NUM_SLOT_VALUES = 1 << Cube.BITS_PER_SLOT;
+
+	// The 6 permutations of the axes, the identity first
+	private static final int[][] AXIS_PERMUTATIONS = {
+		{ X, Y, Z }, { X, Z, Y }, { Y, X, Z }, { Y, Z, X }, { Z, X, Y }, { Z, Y, X }
+	};
+
+	// Symmetry s sends axis a to axis AXIS_TO[s][a], reversed if REVERSED[s][a]
+	private static final int[][] AXIS_TO 		= buildAxisPermutations();
+	private static final boolean[][] REVERSED 	= buildReversals();
+
+	// +1 or -1: the handedness of the corners around which orientations count in
+	// the order D/U, B/F, L/R (around the others, they count D/U, L/R, B/F)
+	private static final int HANDEDNESS = deriveHandedness();
+
+	// Conjugation tables: conjugating by symmetry s moves the value in slot i to
+	// slot SLOT_TO[s][i], where it becomes VALUE_TO[s][i][value]
+	private static final int[][] CORNER_SLOT_TO 	= new int[NUM_SYMMETRIES][Cube.NUM_CORNERS];
+	private static final int[][][] CORNER_VALUE_TO 	= buildCornerTables();
+	private static final int[][] EDGE_SLOT_TO 		= new int[NUM_SYMMETRIES][Cube.NUM_EDGES];
+	private static final int[][][] EDGE_VALUE_TO 	= buildEdgeTables();
+
+	// The inverse of each symmetry
+	private static final int[] INVERSE = buildInverses();
+
+	// Conjugating a cube by symmetry s and then making move MOVE_TO[s][m] gives
+	// the same cube as making move m and then conjugating by s
+	private static final int[][] MOVE_TO = buildMoveConjugates();
+
+
+	// Geometry
+
+	/**
+	 * Returns the position that the given symmetry (as a permutation and
+	 * reversal of the axes) sends the given position to
+	 */
+	private static int[] transform(int[] axisTo, boolean[] reversed, int[] position) {
+		int[] result = new int[NUM_AXES];
+		for (int axis = 0; axis < NUM_AXES; axis++) {
+			result[axisTo[axis]] = reversed[axis] ? LAST - position[axis] : position[axis];
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the stickers of a cublet moved by the given symmetry, where
+	 * stickers[a] is the axis that the sticker now facing axis a faced when solved
+	 * (or -1 if no sticker faces axis a). If relabeled, the cublet is also replaced
+	 * by its symmetric cublet, as in a conjugation; otherwise it is the same
+	 * cublet, moved as in a turn.
+	 */
+	private static int[] transformStickers(int[] axisTo, int[] stickers, boolean relabeled) {
+		int[] result = { -1, -1, -1 };
+		for (int axis = 0; axis < NUM_AXES; axis++) {
+			if (stickers[axis] < 0) continue;
+			result[axisTo[axis]] = relabeled ? axisTo[stickers[axis]] : stickers[axis];
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the axes of a corner position in the order its orientations count
+	 * in, starting from the D/U axis
+	 */
+	private static int[] cornerOrder(int[] position, int handedness) {
+		int hand = 1;
+		for (int axis = 0; axis < NUM_AXES; axis++) {
+			if (position[axis] != LAST) hand = -hand;
+		}
+		return (hand == handedness) ? new int[] { Z, X, Y } : new int[] { Z, Y, X };
+	}
+
+	/**
+	 * Returns the axes of the stickers of an edge position, the reference axis
+	 * (D/U if the edge has it, else B/F) first
+	 */
+	private static int[] edgeAxes(int[] position) {
+		if (position[Z] == MIDDLE) return new int[] { X, Y };
+		return new int[] { Z, (position[X] != MIDDLE) ? X : Y };
+	}
+
+	/**
+	 * Returns the stickers (as in transformStickers()) of the corner with the given
+	 * value in the given slot
+	 */
+	private static int[] cornerStickers(int slot, int value, int handedness) {
+		int corner 		= value & Cube.CORNER_INDEX_MASK;
+		int orientation = value >>> Cube.CORNER_INDEX_BITS;
+		int[] slotOrder = cornerOrder(Cube.cornerPosition(slot), handedness);
+		int[] homeOrder = cornerOrder(Cube.cornerPosition(corner), handedness);
+
+		// The D/U sticker is orientation places along, and the others follow it
+		int[] stickers = new int[NUM_AXES];
+		for (int i = 0; i < CORNER_COLORS; i++) {
+			stickers[slotOrder[(orientation + i) % CORNER_COLORS]] = homeOrder[i];
+		}
+		return stickers;
+	}
+
+	/**
+	 * Returns the slot value of the given corner in the given slot with the given
+	 * stickers
+	 */
+	private static int cornerValue(int slot, int corner, int[] stickers, int handedness) {
+		int[] slotOrder = cornerOrder(Cube.cornerPosition(slot), handedness);
+		for (int orientation = 0; orientation < CORNER_COLORS; orientation++) {
+			if (stickers[slotOrder[orientation]] == Z) return Cube.cornerValue(corner, orientation);
+		}
+		throw new RuntimeException("Corner has no D/U sticker - this error will never be thrown.");
+	}
+
+	/**
+	 * Returns the stickers (as in transformStickers()) of the edge with the given
+	 * value in the given slot
+	 */
+	private static int[] edgeStickers(int slot, int value) {
+		int edge 		= value & Cube.EDGE_INDEX_MASK;
+		int orientation = value >>> Cube.EDGE_INDEX_BITS;
+		int[] slotAxes = edgeAxes(Cube.edgePosition(slot));
+		int[] homeAxes = edgeAxes(Cube.edgePosition(edge));
+
+		int[] stickers = { -1, -1, -1 };
+		stickers[slotAxes[0]] = homeAxes[orientation];
+		stickers[slotAxes[1]] = homeAxes[EDGE_COLORS - 1 - orientation];
+		return stickers;
+	}
+
+	/**
+	 * Returns the slot value of the given edge in the given slot with the given
+	 * stickers
+	 */
+	private static int edgeValue(int slot, int edge, int[] stickers) {
+		int[] slotAxes = edgeAxes(Cube.edgePosition(slot));
+		int[] homeAxes = edgeAxes(Cube.edgePosition(edge));
+		return Cube.edgeValue(edge, (stickers[slotAxes[0]] == homeAxes[0]) ? 0 : 1);
+	}
+
+	/**
+	 * Returns where the given symmetry sends the corner with the given value in
+	 * the given slot, as the new slot * NUM_SLOT_VALUES + the new value. If
+	 * relabeled, the corner is replaced by its symmetric corner (see
+	 * transformStickers()).
+	 */
+	private static int transformCorner(int[] axisTo, boolean[] reversed, int slot, int value,
+			boolean relabeled, int handedness) {
+		int corner 		= value & Cube.CORNER_INDEX_MASK;
+		int[] position 	= transform(axisTo, reversed, Cube.cornerPosition(slot));
+		int[] stickers 	= transformStickers(axisTo, cornerStickers(slot, value, handedness), relabeled);
+
+		int newSlot = Cube.slotAt(position[X], position[Y], position[Z]);
+		if (relabeled) {
+			int[] home = transform(axisTo, reversed, Cube.cornerPosition(corner));
+			corner = Cube.slotAt(home[X], home[Y], home[Z]);
+		}
+		return newSlot * NUM_SLOT_VALUES + cornerValue(newSlot, corner, stickers, handedness);
+	}
+
+	/**
+	 * Returns where the given symmetry sends the edge with the given value in the
+	 * given slot, as the new slot * NUM_SLOT_VALUES + the new value. If relabeled,
+	 * the edge is replaced by its symmetric edge (see transformStickers()).
+	 */
+	private static int transformEdge(int[] axisTo, boolean[] reversed, int slot, int value,
+			boolean relabeled) {
+		int edge 		= value & Cube.EDGE_INDEX_MASK;
+		int[] position 	= transform(axisTo, reversed, Cube.edgePosition(slot));
+		int[] stickers 	= transformStickers(axisTo, edgeStickers(slot, value), relabeled);
+
+		int newSlot = Cube.slotAt(position[X], position[Y], position[Z]);
+		if (relabeled) {
+			int[] home = transform(axisTo, reversed, Cube.edgePosition(edge));
+			edge = Cube.slotAt(home[X], home[Y], home[Z]);
+		}
+		return newSlot * NUM_SLOT_VALUES + edgeValue(newSlot, edge, stickers);
+	}
+
+
+	// Table building
+
+	/**
+	 * Returns the permutation of the axes of every symmetry. Symmetry s permutes
+	 * the axes with permutation s / 8 and reverses the axes in the bits of s % 8.
+	 */
+	private static int[][] buildAxisPermutations() {
+		int[][] axisTo = new int[NUM_SYMMETRIES][];
+		for (int s = 0; s < NUM_SYMMETRIES; s++) {
+			axisTo[s] = AXIS_PERMUTATIONS[s / (1 << NUM_AXES)];
+		}
+		return axisTo;
+	}
+
+	/**
+	 * Returns the axes reversed by every symmetry (see buildAxisPermutations())
+	 */
+	private static boolean[][] buildReversals() {
+		boolean[][] reversed = new boolean[NUM_SYMMETRIES][NUM_AXES];
+		for (int s = 0; s < NUM_SYMMETRIES; s++) {
+			for (int axis = 0; axis < NUM_AXES; axis++) {
+				reversed[s][axis] = ((s % (1 << NUM_AXES)) & (1 << axis)) != 0;
+			}
+		}
+		return reversed;
+	}
+
+	/**
+	 * Returns the state the given (quarter turn) rotation of the given face makes
+	 * of the given packed corners (if isCorners) or edges, assuming orientations
+	 * count around corners of the given handedness
+	 */
+	private static long rotateFace(long state, boolean isCorners, int face, int[] axisTo,
+			boolean[] reversed, int handedness) {
+		int axis = face / 2;
+		int layer = (face % 2 == 0) ? 0 : LAST;
+		int numSlots = isCorners ? Cube.NUM_CORNERS : Cube.NUM_EDGES;
+
+		long result = 0;
+		for (int slot = 0; slot < numSlots; slot++) {
+			int value = Cube.slotValue(state, slot);
+			int[] position = isCorners ? Cube.cornerPosition(slot) : Cube.edgePosition(slot);
+			int placed = slot * NUM_SLOT_VALUES + value;
+			if (position[axis] == layer) {
+				placed = isCorners ? transformCorner(axisTo, reversed, slot, value, false, handedness)
+								   : transformEdge(axisTo, reversed, slot, value, false);
+			}
+			int newSlot = placed / NUM_SLOT_VALUES;
+			result |= (long) (placed % NUM_SLOT_VALUES) << (Cube.BITS_PER_SLOT * newSlot);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns true if, with orientations counted around corners of the given
+	 * handedness, every quarter turn of Side is a quarter turn rotation of its
+	 * face, on the solved cube and on a scrambled one
+	 */
+	private static boolean matchesTurns(int handedness) {
+		Cube scrambled = scrambled();
+		Cube[] cubes = { new Cube(), scrambled };
+		for (int move : Side.QUARTER_TURNS) {
+			int face = Side.faceOf(move);
+			int axis = face / 2;
+			int first = (axis + 1) % NUM_AXES;
+			int second = (axis + 2) % NUM_AXES;
+
+			// The two quarter turn rotations about the axis
+			int[] axisTo = new int[NUM_AXES];
+			axisTo[axis] 	= axis;
+			axisTo[first] 	= second;
+			axisTo[second] 	= first;
+			boolean[][] rotations = new boolean[2][NUM_AXES];
+			rotations[0][second] = true;
+			rotations[1][first] = true;
+
+			boolean matched = false;
+			for (boolean[] reversed : rotations) {
+				boolean matches = true;
+				for (Cube cube : cubes) {
+					Cube turned = cube.turn(move);
+					matches &= rotateFace(cube.corners(), true, face, axisTo, reversed, handedness)
+								== turned.corners();
+					matches &= rotateFace(cube.edges(), false, face, axisTo, reversed, handedness)
+								== turned.edges();
+				}
+				matched |= matches;
+			}
+			if (!matched) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the handedness of the corners around which orientations count in
+	 * the order D/U, B/F, L/R, as shown by the turns of Side
+	 */
+	private static int deriveHandedness() {
+		if (matchesTurns(+1)) return +1;
+		if (matchesTurns(-1)) return -1;
+		throw new RuntimeException("Orientations are not geometric - this error will never be thrown.");
+	}
+
+	/**
+	 * Fills CORNER_SLOT_TO and returns the corner value table
+	 */
+	private static int[][][] buildCornerTables() {
+		int[][][] valueTo = new int[NUM_SYMMETRIES][Cube.NUM_CORNERS][NUM_SLOT_VALUES];
+		for (int s = 0; s < NUM_SYMMETRIES; s++) {
+			for (int slot = 0; slot < Cube.NUM_CORNERS; slot++) {
+				for (int corner = 0; corner < Cube.NUM_CORNERS; corner++) {
+					for (int orientation = 0; orientation < CORNER_COLORS; orientation++) {
+						int value = Cube.cornerValue(corner, orientation);
+						int placed = transformCorner(AXIS_TO[s], REVERSED[s], slot, value, true, HANDEDNESS);
+						CORNER_SLOT_TO[s][slot] = placed / NUM_SLOT_VALUES;
+						valueTo[s][slot][value] = placed % NUM_SLOT_VALUES;
+					}
+				}
+			}
+		}
+		return valueTo;
+	}
+
+	/**
+	 * Fills EDGE_SLOT_TO and returns the edge value table
+	 */
+	private static int[][][] buildEdgeTables() {
+		int[][][] valueTo = new int[NUM_SYMMETRIES][Cube.NUM_EDGES][NUM_SLOT_VALUES];
+		for (int s = 0; s < NUM_SYMMETRIES; s++) {
+			for (int slot = 0; slot < Cube.NUM_EDGES; slot++) {
+				for (int edge = 0; edge < Cube.NUM_EDGES; edge++) {
+					for (int orientation = 0; orientation < EDGE_COLORS; orientation++) {
+						int value = Cube.edgeValue(edge, orientation);
+						int placed = transformEdge(AXIS_TO[s], REVERSED[s], slot, value, true);
+						EDGE_SLOT_TO[s][slot] = placed / NUM_SLOT_VALUES;
+						valueTo[s][slot][value] = placed % NUM_SLOT_VALUES;
+					}
+				}
+			}
+		}
+		return valueTo;
+	}
+
+	/**
+	 * Returns the inverse of every symmetry
+	 */
+	private static int[] buildInverses() {
+		int[] inverse = new int[NUM_SYMMETRIES];
+		for (int s = 0; s < NUM_SYMMETRIES; s++) {
+			// The inverse sends every axis back where it came from
+			for (int t = 0; t < NUM_SYMMETRIES; t++) {
+				boolean isInverse = true;
+				for (int axis = 0; axis < NUM_AXES; axis++) {
+					int to = AXIS_TO[s][axis];
+					isInverse &= AXIS_TO[t][to] == axis && REVERSED[t][to] == REVERSED[s][axis];
+				}
+				if (isInverse) inverse[s] = t;
+			}
+		}
+		return inverse;
+	}
+
+	/**
+	 * Returns the conjugate of every move by every symmetry, found by matching
+	 * the turns of a scrambled cube and its conjugate
+	 */
+	private static int[][] buildMoveConjugates() {
+		Cube scrambled = scrambled();
+		int[][] moveTo = new int[NUM_SYMMETRIES][Side.NUM_MOVES];
+		for (int s = 0; s < NUM_SYMMETRIES; s++) {
+			Cube conjugated = conjugate(scrambled, s);
+			for (int move = 0; move < Side.NUM_MOVES; move++) {
+				Cube expected = conjugate(scrambled.turn(move), s);
+				moveTo[s][move] = -1;
+				for (int candidate = 0; candidate < Side.NUM_MOVES; candidate++) {
+					if (conjugated.turn(candidate).equals(expected)) moveTo[s][move] = candidate;
+				}
+				if (moveTo[s][move] == -1)
+					throw new RuntimeException("Move has no conjugate - this error will never be thrown.");
+			}
+		}
+		return moveTo;
+	}
+
+	/**
+	 * Returns a cube with no symmetry of its own, for deriving tables
+	 */
+	private static Cube scrambled() {
+		Cube cube = new Cube();
+		int[] moves = { 0, 5, 7, 12, 15, 9, 2, 17, 4, 11, 14, 6, 0, 9 };
+		for (int move : moves) cube = cube.turn(move);
+		return cube;
+	}
+
+
+	// Static methods
+
+	/**
+	 * Returns the packed corners of the conjugate by the given symmetry of the
+	 * given packed corners
+	 */
+	static long conjugateCorners(long corners, int symmetry) {
+		int[] slotTo 	= CORNER_SLOT_TO[symmetry];
+		int[][] valueTo = CORNER_VALUE_TO[symmetry];
+		long result = 0;
+		for (int slot = 0; slot < Cube.NUM_CORNERS; slot++) {
+			int value = valueTo[slot][Cube.slotValue(corners, slot)];
+			result |= (long) value << (Cube.BITS_PER_SLOT * slotTo[slot]);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the packed edges of the conjugate by the given symmetry of the
+	 * given packed edges
+	 */
+	static long conjugateEdges(long edges, int symmetry) {
+		int[] slotTo 	= EDGE_SLOT_TO[symmetry];
+		int[][] valueTo = EDGE_VALUE_TO[symmetry];
+		long result = 0;
+		for (int slot = 0; slot < Cube.NUM_EDGES; slot++) {
+			int value = valueTo[slot][Cube.slotValue(edges, slot)];
+			result |= (long) value << (Cube.BITS_PER_SLOT * slotTo[slot]);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the conjugate of the given Cube by the given symmetry: the same cube
+	 * seen through the symmetry
+	 */
+	public static Cube conjugate(Cube cube, int symmetry) {
+		if (cube == null)
+			throw new NullPointerException("Argument is null");
+		if (symmetry < 0 || symmetry >= NUM_SYMMETRIES)
+			throw new IllegalArgumentException("Invalid symmetry: " + symmetry);
+		return new Cube(conjugateCorners(cube.corners(), symmetry), conjugateEdges(cube.edges(), symmetry));
+	}
+
+	/**
+	 * Returns the representative of the class of cubes symmetric to the given
+	 * Cube: the conjugate with the smallest packed state. Symmetric cubes have the
+	 * same representative.
+	 */
+	public static Cube representative(Cube cube) {
+		if (cube == null)
+			throw new NullPointerException("Argument is null");
+
+		long bestCorners = cube.corners();
+		long bestEdges 	 = cube.edges();
+		for (int s = 1; s < NUM_SYMMETRIES; s++) {
+			long corners = conjugateCorners(cube.corners(), s);
+			if (corners > bestCorners) continue;
+			long edges = conjugateEdges(cube.edges(), s);
+			if (corners < bestCorners || edges < bestEdges) {
+				bestCorners = corners;
+				bestEdges 	= edges;
+			}
+		}
+		return new Cube(bestCorners, bestEdges);
+	}
+
+	/**
+	 * Returns the move that does to the conjugate of a cube by the given symmetry
+	 * what the given move does to the cube
+	 */
+	public static int conjugateMove(int symmetry, int move) {
+		return MOVE_TO[symmetry][move];
+	}
+
+	/**
+	 * Returns the inverse of the given symmetry
+	 */
+	public static int inverse(int symmetry) {
+		return INVERSE[symmetry];
+	}
+
+	/**
+	 * Returns true if the given symmetry is a reflection (which turns clockwise
+	 * turns into counter-clockwise ones)
+	 */
+	public static boolean isReflection(int symmetry) {
+		int[] axisTo = AXIS_TO[symmetry];
+		int sign = 1;
+		for (int axis = 0; axis < NUM_AXES; axis++) {
+			if (REVERSED[symmetry][axis]) sign = -sign;
+			for (int other = axis + 1; other < NUM_AXES; other++) {
+				if (axisTo[axis] > axisTo[other]) sign = -sign;	// an inversion of the permutation
+			}
+		}
+		return sign < 0;
+	}
+}
@@ -0,0 +1,191 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This object records which cube states a search has already reached
+* and at what depth, so that duplicate states can be pruned. States are identified
+* by a 64-bit hash (see Cube.stateHash()) and stored in an open-addressing table of
+* primitive arrays with a fixed capacity. When a new state finds no free entry
+* within a short probe window, the eviction policy decides which state (if any) is
+* forgotten to make room.
+*
+* Two different states with the same 64-bit hash are treated as the same state.
+* The chance of that happening is negligible for the table sizes a search can use.
+***********************************************************************************/
+
+import java.util.Arrays;
+
+public class TranspositionTable {
+
+	// Constants
+
+	// Integer labels to identify the eviction policy
+	public static final int NEVER_REPLACE 	= 0;	// keep old states; drop the new one
+	public static final int ALWAYS_REPLACE 	= 1;	// overwrite the first state probed
+	public static final int REPLACE_DEEPEST = 2;	// overwrite the deepest state probed
+
+	public static final int DEFAULT_CAPACITY = 1 << 20;
+
+	private static final int PROBE_LIMIT = 8;	// entries probed before evicting
+	private static final long EMPTY 	 = 0;	// key of an empty entry
+	private static final int MAX_DEPTH 	 = Short.MAX_VALUE;	// deepest depth recorded
+
+
+	// Instance variables
+
+	private long[] keys;		// state hashes, or EMPTY
+	private short[] depths;		// smallest depth at which each state was reached
+	private int mask;			// capacity - 1, to reduce hashes to indices
+	private int evictionPolicy;	// what to do when the probe window is full
+	private int size;			// number of states recorded
+	private long evictions;		// number of states forgotten to make room
+
+
+	// Constructors
+
+	/**
+	 * Construct a TranspositionTable with room for at least the given number of
+	 * states (rounded up to a power of two) and the given eviction policy
+	 */
+	public TranspositionTable(int capacity, int evictionPolicy) {
+		if (capacity <= 0 || capacity > (1 << 30))
+			throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+		if (evictionPolicy != NEVER_REPLACE && evictionPolicy != ALWAYS_REPLACE
+			&& evictionPolicy != REPLACE_DEEPEST)
+			throw new IllegalArgumentException("Unknown eviction policy: " + evictionPolicy);
+
+		int roundedCapacity = Integer.highestOneBit(capacity);
+		if (roundedCapacity < capacity) roundedCapacity <<= 1;
+
+		this.keys 			= new long[roundedCapacity];
+		this.depths 		= new short[roundedCapacity];
+		this.mask 			= roundedCapacity - 1;
+		this.evictionPolicy = evictionPolicy;
+	}
+
+
+	// Helper methods
+
+	/**
+	 * Returns the key under which the given state hash is stored (EMPTY is
+	 * reserved for empty entries)
+	 */
+	private static long keyOf(long hash) {
+		return (hash == EMPTY) ? 1 : hash;
+	}
+
+	/**
+	 * Returns the index of the entry holding the given key, or -1 if it is not
+	 * in its probe window
+	 */
+	private int find(long key) {
+		int index = (int) key & mask;
+		for (int probe = 0; probe < PROBE_LIMIT; probe++) {
+			long stored = keys[(index + probe) & mask];
+			if (stored == key) 	 return (index + probe) & mask;
+			if (stored == EMPTY) return -1;
+		}
+		return -1;
+	}
+
+	/**
+	 * Stores the key at the given depth in an empty entry of its probe window,
+	 * or in the entry chosen by the eviction policy if the window is full
+	 */
+	private void store(long key, int depth) {
+		int index  = (int) key & mask;
+		int victim = -1;
+		for (int probe = 0; probe < PROBE_LIMIT; probe++) {
+			int i = (index + probe) & mask;
+			if (keys[i] == EMPTY) {
+				keys[i]   = key;
+				depths[i] = (short) depth;
+				size++;
+				return;
+			}
+			if (victim == -1 || depths[i] > depths[victim]) victim = i;
+		}
+
+		switch (evictionPolicy) {
+			case NEVER_REPLACE:
+				return;
+			case ALWAYS_REPLACE:
+				victim = index;
+				break;
+			case REPLACE_DEEPEST:
+				break;
+			default:
+				throw new RuntimeException("Error in storing a state: this error will never be thrown.");
+		}
+		keys[victim]   = key;
+		depths[victim] = (short) depth;
+		evictions++;
+	}
+
+
+	// Methods
+
+	/**
+	 * Records that the state with the given hash was reached at the given depth.
+	 * Returns true if the state is new (or was only reached deeper before), and
+	 * false if it was already reached at the same depth or shallower, in which
+	 * case a search can prune it. States deeper than 32767 are not recorded and
+	 * never pruned, since their depth does not fit in the table.
+	 */
+	public boolean visit(long hash, int depth) {
+		if (depth > MAX_DEPTH) return true;
+		long key = keyOf(hash);
+
+		int index = find(key);
+		if (index == -1) {
+			store(key, depth);
+			return true;
+		}
+		if (depths[index] <= depth) return false;
+		depths[index] = (short) depth;
+		return true;
+	}
+
+	/**
+	 * Returns the smallest depth at which the state with the given hash was
+	 * reached, or -1 if it is not in the table
+	 */
+	public int depth(long hash) {
+		int index = find(keyOf(hash));
+		return (index == -1) ? -1 : depths[index];
+	}
+
+	/**
+	 * Forgets every state in the table
+	 */
+	public void clear() {
+		Arrays.fill(keys, EMPTY);
+		size = 0;
+		evictions = 0;
+	}
+
+
+	// Getters
+
+	/**
+	 * Returns the number of states recorded in the table
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of entries in the table
+	 */
+	public int capacity() {
+		return keys.length;
+	}
+
+	/**
+	 * Returns the number of states forgotten to make room for new ones
+	 */
+	public long evictions() {
+		return evictions;
+	}
+
+}
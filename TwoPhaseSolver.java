@@ -0,0 +1,716 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: This is a Rubik's Cube solver object that uses Kociemba's two-phase
+* algorithm. It trades optimality for speed: solutions are near-optimal and usually
+* found in milliseconds.
+*
+* Unlike the other solvers, the search counts a half turn as one turn (the face
+* turn metric), and so does the maximum length. The algorithm it reports is
+* written like the other solvers', in quarter turns, with each half turn as two
+* clockwise quarter turns, so it can have up to twice the maximum length in turns.
+*
+* Phase 1 turns the cube into the subgroup G1 = <U, D, L2, R2, F2, B2>, the cubes
+* whose corners are untwisted, whose edges are unflipped and whose 4 middle-layer
+* edges (between U and D) are in the middle layer. Those properties are described
+* by three coordinates (twist, flip and slice), which are small enough to have a
+* move table for every turn and pruning tables of the exact number of turns needed
+* to zero a pair of them. Phase 2 then solves the cube using only the turns of G1,
+* with coordinates for the corner permutation and the permutations of the edges in
+* and out of the middle layer, and move and pruning tables of its own.
+*
+* Both phases are IDA* searches over the coordinates. Every phase 1 solution is
+* handed to phase 2, and phase 1 deepens until the two together fit within the
+* maximum length, and the first solution that fits is returned. Optionally, the
+* search then goes on with a time budget of its own: each solution found lowers
+* the maximum length to one turn less than it, until none shorter is left or the
+* budget runs out, and the shortest solution found is returned.
+***********************************************************************************/
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+public class TwoPhaseSolver {
+
+	// Constants
+
+	public static final int DEFAULT_MAX_LENGTH 	  = 22;	// in face turns (see above)
+	public static final long DEFAULT_TIMEOUT_MILLIS = 10000;
+
+	private static final int MAX_PHASE_2_LENGTH = 18;	// every cube in G1 is solved in 18 turns
+
+	private static final int NODES_PER_CLOCK_CHECK = 1 << 12;
+
+	private static final int CORNER_COLORS 	  = 3;
+	private static final int EDGE_COLORS 	  = 2;
+	private static final int NUM_SLICE_EDGES  = 4;
+	private static final int NUM_UD_EDGES 	  = Cube.NUM_EDGES - NUM_SLICE_EDGES;
+
+	// Integer labels to identify the coordinates
+	private static final int TWIST 			= 0;
+	private static final int FLIP 			= 1;
+	private static final int SLICE 			= 2;
+	private static final int CORNER_PERM 	= 3;
+	private static final int UD_EDGE_PERM 	= 4;
+	private static final int SLICE_PERM 	= 5;
+
+	// Coordinate sizes
+	private static final int NUM_TWISTS 		= 2187;		// 3^7
+	private static final int NUM_FLIPS 			= 2048;		// 2^11
+	private static final int NUM_SLICES 		= 495;		// 12 choose 4
+	private static final int NUM_CORNER_PERMS 	= 40320;	// 8!
+	private static final int NUM_UD_EDGE_PERMS 	= 40320;	// 8!
+	private static final int NUM_SLICE_PERMS 	= 24;		// 4!
+
+	// The edge slots of the middle layer, and the others (the U and D layers)
+	private static final int[] SLICE_SLOTS = buildEdgeSlots(true);
+	private static final int[] UD_SLOTS 	= buildEdgeSlots(false);
+
+	// The position of each edge among SLICE_SLOTS (or UD_SLOTS), or -1
+	private static final int[] SLICE_INDEX = buildSlotIndex(SLICE_SLOTS);
+	private static final int[] UD_INDEX 	= buildSlotIndex(UD_SLOTS);
+
+	// The slice coordinate of each bit set of 4 edge slots, and the reverse
+	private static final int[] SLICE_OF_SLOTS = new int[1 << Cube.NUM_EDGES];
+	private static final int[] SLOTS_OF_SLICE = buildSliceRanks();
+	private static final int SOLVED_SLICE 	  = SLICE_OF_SLOTS[bitSet(SLICE_SLOTS)];
+
+	// The turns of G1, which are all phase 2 searches
+	private static final int[] PHASE_2_MOVES = buildPhase2Moves();
+	private static final int NUM_PHASE_2_MOVES = PHASE_2_MOVES.length;
+
+	// Move tables, indexed by coordinate * number of moves + move
+	private static final char[] TWIST_MOVE = buildMoveTable(NUM_TWISTS, Side.NUM_MOVES, TWIST);
+	private static final char[] FLIP_MOVE 	= buildMoveTable(NUM_FLIPS, Side.NUM_MOVES, FLIP);
+	private static final char[] SLICE_MOVE = buildMoveTable(NUM_SLICES, Side.NUM_MOVES, SLICE);
+	private static final char[] CORNER_PERM_MOVE 	= buildMoveTable(NUM_CORNER_PERMS, NUM_PHASE_2_MOVES, CORNER_PERM);
+	private static final char[] UD_EDGE_PERM_MOVE 	= buildMoveTable(NUM_UD_EDGE_PERMS, NUM_PHASE_2_MOVES, UD_EDGE_PERM);
+	private static final char[] SLICE_PERM_MOVE 	= buildMoveTable(NUM_SLICE_PERMS, NUM_PHASE_2_MOVES, SLICE_PERM);
+
+	// Pruning tables of the exact number of turns to solve a pair of coordinates,
+	// indexed by first coordinate * size of second coordinate + second coordinate
+	private static final byte[] TWIST_SLICE_PRUNE = buildPruningTable(
+		TWIST_MOVE, NUM_TWISTS, SLICE_MOVE, NUM_SLICES, Side.NUM_MOVES, SOLVED_SLICE);
+	private static final byte[] FLIP_SLICE_PRUNE = buildPruningTable(
+		FLIP_MOVE, NUM_FLIPS, SLICE_MOVE, NUM_SLICES, Side.NUM_MOVES, SOLVED_SLICE);
+	private static final byte[] CORNER_SLICE_PRUNE = buildPruningTable(
+		CORNER_PERM_MOVE, NUM_CORNER_PERMS, SLICE_PERM_MOVE, NUM_SLICE_PERMS, NUM_PHASE_2_MOVES, 0);
+	private static final byte[] UD_EDGE_SLICE_PRUNE = buildPruningTable(
+		UD_EDGE_PERM_MOVE, NUM_UD_EDGE_PERMS, SLICE_PERM_MOVE, NUM_SLICE_PERMS, NUM_PHASE_2_MOVES, 0);
+
+
+	// Instance variables
+
+	/**
+	 * The packed state of the cube being solved
+	 */
+	private long corners;
+	private long edges;
+
+	/**
+	 * The maximum number of face turns in a solution, lowered as solutions are
+	 * found when shortening
+	 */
+	private int maxLength;
+
+	/**
+	 * The System.nanoTime() at which the current part of the search started, and
+	 * the nanoseconds it may take: the timeout until the first solution, and then
+	 * the budget for shortening it
+	 */
+	private long clockStart;
+	private long budgetNanos;
+
+	/**
+	 * True once the current part of the search has used up its time
+	 */
+	private boolean outOfTime;
+
+	/**
+	 * The moves of phase 1 followed by the moves of phase 2, one per depth
+	 */
+	private int[] path;
+
+	/**
+	 * The number of moves in the solution just found by phase2()
+	 */
+	private int solutionLength;
+
+	/**
+	 * The moves of the shortest solution found so far, or null if none has been
+	 */
+	private int[] solution;
+
+	/**
+	 * The number of coordinate states whose neighbors were searched, in both phases
+	 */
+	private long nodesExpanded;
+
+	/**
+	 * True if the search ran out of time before finding any solution
+	 */
+	private boolean timedOut;
+
+	/**
+	 * The string representation of the algorithm to solve the cube, as a
+	 * comma-separated list of turns
+	 */
+	private String solveAlgorithm;
+
+
+	// Constructors
+
+	/**
+	 * Initializes a TwoPhaseSolver, and solves the given Cube in at most
+	 * DEFAULT_MAX_LENGTH face turns, giving up after DEFAULT_TIMEOUT_MILLIS
+	 */
+	public TwoPhaseSolver(Cube cube) {
+		this(cube, DEFAULT_MAX_LENGTH, DEFAULT_TIMEOUT_MILLIS);
+	}
+
+	/**
+	 * Initializes a TwoPhaseSolver, and solves the given Cube in at most maxLength
+	 * face turns, giving up after timeoutMillis milliseconds. The first solution
+	 * found is kept. If no solution is found, getSolveAlgorithm() returns null.
+	 */
+	public TwoPhaseSolver(Cube cube, int maxLength, long timeoutMillis) {
+		this(cube, maxLength, timeoutMillis, 0);
+	}
+
+	/**
+	 * Initializes a TwoPhaseSolver, and solves the given Cube in at most maxLength
+	 * face turns, giving up after timeoutMillis milliseconds if no solution is
+	 * found. Once one is, it searches for shorter solutions for up to
+	 * shorteningMillis more milliseconds (none if 0), and keeps the shortest.
+	 */
+	public TwoPhaseSolver(Cube cube, int maxLength, long timeoutMillis, long shorteningMillis) {
+		if (cube == null)
+			throw new NullPointerException("Arguments are null");
+		if (maxLength < 0)
+			throw new IllegalArgumentException("maxLength must be non-negative");
+		if (timeoutMillis <= 0)
+			throw new IllegalArgumentException("timeoutMillis must be positive");
+		if (shorteningMillis < 0)
+			throw new IllegalArgumentException("shorteningMillis must be non-negative");
+
+		this.corners 	 = cube.corners();
+		this.edges 		 = cube.edges();
+		this.maxLength 	 = maxLength;
+		this.clockStart  = System.nanoTime();
+		this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		this.path 		 = new int[maxLength];
+
+		int twist = twistOf(corners);
+		int flip  = flipOf(edges);
+		int slice = sliceOf(edges);
+		// Longer phase 1 solutions often have much shorter phase 2 solutions, so
+		// phase 1 keeps deepening past the 12 turns that always suffice. When
+		// shortening, phase 1 searches the length of each solution again for a
+		// shorter one, since shorter phase 1 lengths already failed with a larger
+		// maximum length.
+		int length = 0;
+		while (length <= this.maxLength && !outOfTime) {
+			if (phase1(twist, flip, slice, 0, length, -1)) {
+				if (solution == null) {
+					if (shorteningMillis == 0) {
+						solution = Arrays.copyOf(path, solutionLength);
+						break;
+					}
+					clockStart 	= System.nanoTime();
+					budgetNanos = TimeUnit.MILLISECONDS.toNanos(shorteningMillis);
+				}
+				solution = Arrays.copyOf(path, solutionLength);
+				this.maxLength = solutionLength - 1;
+			}
+			else length++;
+		}
+		this.timedOut = (solution == null) && outOfTime;
+
+		// Read the algorithm off the solution
+		if (solution == null) return;
+		this.solveAlgorithm = Side.movesToString(quarterTurns(solution));
+	}
+
+
+	// Search
+
+	/**
+	 * Searches for phase 1 solutions of exactly togo more moves below the given
+	 * coordinates, which were reached with depth moves (the last of which turned
+	 * lastFace, or -1 at the root). Returns true if one of them led to a solution.
+	 */
+	private boolean phase1(int twist, int flip, int slice, int depth, int togo, int lastFace) {
+		if (togo == 0) {
+			if (twist != 0 || flip != 0 || slice != SOLVED_SLICE) return false;
+
+			// A phase 1 solution ending in a G1 turn was already tried one move
+			// shorter, so only the others go on to phase 2
+			if (depth > 0 && isPhase2Move(path[depth - 1])) return false;
+			return phase2(depth);
+		}
+		if (checkClock()) return false;
+
+		nodesExpanded++;
+		for (int move = 0; move < Side.NUM_MOVES; move++) {
+			int face = Side.faceOf(move);
+			if (!canFollow(face, lastFace)) continue;
+
+			int nextTwist = TWIST_MOVE[twist * Side.NUM_MOVES + move];
+			int nextFlip  = FLIP_MOVE[flip * Side.NUM_MOVES + move];
+			int nextSlice = SLICE_MOVE[slice * Side.NUM_MOVES + move];
+			int distance = Math.max(TWIST_SLICE_PRUNE[nextTwist * NUM_SLICES + nextSlice],
+									FLIP_SLICE_PRUNE[nextFlip * NUM_SLICES + nextSlice]);
+			if (distance >= togo) continue;
+
+			path[depth] = move;
+			if (phase1(nextTwist, nextFlip, nextSlice, depth + 1, togo - 1, face)) return true;
+			if (outOfTime) return false;
+		}
+		return false;
+	}
+
+	/**
+	 * Starts phase 2 on the cube reached by the first phase1Length moves of the
+	 * path. Returns true if it was solved within the maximum length.
+	 */
+	private boolean phase2(int phase1Length) {
+		long c = corners;
+		long e = edges;
+		for (int depth = 0; depth < phase1Length; depth++) {
+			c = Side.turnCorners(c, path[depth]);
+			e = Side.turnEdges(e, path[depth]);
+		}
+		int cornerPerm 	= cornerPermOf(c);
+		int udEdgePerm 	= udEdgePermOf(e);
+		int slicePerm 	= slicePermOf(e);
+
+		int lastFace = (phase1Length > 0) ? Side.faceOf(path[phase1Length - 1]) : -1;
+		int maxPhase2Length = Math.min(MAX_PHASE_2_LENGTH, maxLength - phase1Length);
+		int distance = phase2Distance(cornerPerm, udEdgePerm, slicePerm);
+		for (int length = distance; length <= maxPhase2Length; length++) {
+			if (phase2(cornerPerm, udEdgePerm, slicePerm, phase1Length, length, lastFace)) {
+				solutionLength = phase1Length + length;
+				return true;
+			}
+			if (outOfTime) return false;
+		}
+		return false;
+	}
+
+	/**
+	 * Searches for phase 2 solutions of exactly togo more moves below the given
+	 * coordinates, like phase1()
+	 */
+	private boolean phase2(int cornerPerm, int udEdgePerm, int slicePerm, int depth, int togo, int lastFace) {
+		if (togo == 0) return cornerPerm == 0 && udEdgePerm == 0 && slicePerm == 0;
+		if (checkClock()) return false;
+
+		nodesExpanded++;
+		for (int i = 0; i < NUM_PHASE_2_MOVES; i++) {
+			int move = PHASE_2_MOVES[i];
+			int face = Side.faceOf(move);
+			if (!canFollow(face, lastFace)) continue;
+
+			int nextCornerPerm = CORNER_PERM_MOVE[cornerPerm * NUM_PHASE_2_MOVES + i];
+			int nextUDEdgePerm = UD_EDGE_PERM_MOVE[udEdgePerm * NUM_PHASE_2_MOVES + i];
+			int nextSlicePerm  = SLICE_PERM_MOVE[slicePerm * NUM_PHASE_2_MOVES + i];
+			if (phase2Distance(nextCornerPerm, nextUDEdgePerm, nextSlicePerm) >= togo) continue;
+
+			path[depth] = move;
+			if (phase2(nextCornerPerm, nextUDEdgePerm, nextSlicePerm, depth + 1, togo - 1, face))
+				return true;
+			if (outOfTime) return false;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns a lower bound on the number of G1 turns needed to solve a cube in G1
+	 * with the given coordinates
+	 */
+	private static int phase2Distance(int cornerPerm, int udEdgePerm, int slicePerm) {
+		return Math.max(CORNER_SLICE_PRUNE[cornerPerm * NUM_SLICE_PERMS + slicePerm],
+						UD_EDGE_SLICE_PRUNE[udEdgePerm * NUM_SLICE_PERMS + slicePerm]);
+	}
+
+	/**
+	 * Returns true if the current part of the search has used up its time,
+	 * checking the clock only every NODES_PER_CLOCK_CHECK nodes
+	 */
+	private boolean checkClock() {
+		if ((nodesExpanded & (NODES_PER_CLOCK_CHECK - 1)) == 0
+			&& System.nanoTime() - clockStart > budgetNanos)
+			outOfTime = true;
+		return outOfTime;
+	}
+
+	/**
+	 * Returns true if a turn of the given face may follow a turn of lastFace (or
+	 * -1 at the root). Turning the same face twice in a row is never needed, and
+	 * turns of opposite faces commute, so they are only made in one order.
+	 */
+	private static boolean canFollow(int face, int lastFace) {
+		if (lastFace == -1) return true;
+		if (face == lastFace) return false;
+		return !(face / 2 == lastFace / 2 && face < lastFace);
+	}
+
+	/**
+	 * Returns the given moves with each half turn replaced by two clockwise
+	 * quarter turns of the same side
+	 */
+	private static int[] quarterTurns(int[] moves) {
+		int numQuarterTurns = 0;
+		for (int move : moves) {
+			numQuarterTurns += (Side.directionOf(move) == Side.HALF) ? 2 : 1;
+		}
+		int[] quarterTurns = new int[numQuarterTurns];
+		int i = 0;
+		for (int move : moves) {
+			if (Side.directionOf(move) == Side.HALF) {
+				int clockwise = Side.move(Side.faceOf(move), Side.CLOCKWISE);
+				quarterTurns[i++] = clockwise;
+				quarterTurns[i++] = clockwise;
+			}
+			else quarterTurns[i++] = move;
+		}
+		return quarterTurns;
+	}
+
+	/**
+	 * Returns true if the given move is a turn of G1
+	 */
+	private static boolean isPhase2Move(int move) {
+		for (int phase2Move : PHASE_2_MOVES) {
+			if (move == phase2Move) return true;
+		}
+		return false;
+	}
+
+
+	// Coordinates
+
+	/**
+	 * Returns the twist coordinate (0 to 3^7 - 1): the orientations of the first 7
+	 * corners
+	 */
+	private static int twistOf(long corners) {
+		int twist = 0;
+		for (int slot = 0; slot < Cube.NUM_CORNERS - 1; slot++) {
+			twist = twist * CORNER_COLORS + (Cube.slotValue(corners, slot) >>> Cube.CORNER_INDEX_BITS);
+		}
+		return twist;
+	}
+
+	/**
+	 * Returns the flip coordinate (0 to 2^11 - 1): the orientations of the first
+	 * 11 edges
+	 */
+	private static int flipOf(long edges) {
+		int flip = 0;
+		for (int slot = 0; slot < Cube.NUM_EDGES - 1; slot++) {
+			flip = flip * EDGE_COLORS + (Cube.slotValue(edges, slot) >>> Cube.EDGE_INDEX_BITS);
+		}
+		return flip;
+	}
+
+	/**
+	 * Returns the slice coordinate (0 to 494): which 4 slots hold the middle-layer
+	 * edges
+	 */
+	private static int sliceOf(long edges) {
+		int slots = 0;
+		for (int slot = 0; slot < Cube.NUM_EDGES; slot++) {
+			int edge = Cube.slotValue(edges, slot) & Cube.EDGE_INDEX_MASK;
+			if (SLICE_INDEX[edge] >= 0) slots |= 1 << slot;
+		}
+		return SLICE_OF_SLOTS[slots];
+	}
+
+	/**
+	 * Returns the rank (0 to 8! - 1) of the corner permutation
+	 */
+	private static int cornerPermOf(long corners) {
+		int[] permutation = new int[Cube.NUM_CORNERS];
+		for (int slot = 0; slot < Cube.NUM_CORNERS; slot++) {
+			permutation[slot] = Cube.slotValue(corners, slot) & Cube.CORNER_INDEX_MASK;
+		}
+		return Utilities.rankPermutation(permutation);
+	}
+
+	/**
+	 * Returns the rank (0 to 8! - 1) of the permutation of the U and D layer edges
+	 * of a cube in G1
+	 */
+	private static int udEdgePermOf(long edges) {
+		return edgePermOf(edges, UD_SLOTS, UD_INDEX);
+	}
+
+	/**
+	 * Returns the rank (0 to 4! - 1) of the permutation of the middle-layer edges
+	 * of a cube in G1
+	 */
+	private static int slicePermOf(long edges) {
+		return edgePermOf(edges, SLICE_SLOTS, SLICE_INDEX);
+	}
+
+	/**
+	 * Returns the rank of the permutation of the edges in the given slots, which
+	 * must hold the edges whose home is one of those slots
+	 */
+	private static int edgePermOf(long edges, int[] slots, int[] index) {
+		int[] permutation = new int[slots.length];
+		for (int i = 0; i < slots.length; i++) {
+			permutation[i] = index[Cube.slotValue(edges, slots[i]) & Cube.EDGE_INDEX_MASK];
+		}
+		return Utilities.rankPermutation(permutation);
+	}
+
+	/**
+	 * Returns a corner state with the given value of the coordinate (TWIST or
+	 * CORNER_PERM) that is solved in every other respect
+	 */
+	private static long cornersWith(int coordinate, int value) {
+		int[] permutation 	= new int[Cube.NUM_CORNERS];
+		int[] orientations 	= new int[Cube.NUM_CORNERS];
+		if (coordinate == TWIST) {
+			// Orientations were ranked first slot first, so they come out last
+			// first. The last corner's orientation makes the total a multiple of 3.
+			int sum = 0;
+			for (int slot = Cube.NUM_CORNERS - 2; slot >= 0; slot--) {
+				orientations[slot] = value % CORNER_COLORS;
+				value /= CORNER_COLORS;
+				sum += orientations[slot];
+			}
+			orientations[Cube.NUM_CORNERS - 1] = (CORNER_COLORS - sum % CORNER_COLORS) % CORNER_COLORS;
+			for (int slot = 0; slot < Cube.NUM_CORNERS; slot++) permutation[slot] = slot;
+		} else {
+			Utilities.unrankPermutation(value, permutation);
+		}
+
+		long corners = 0;
+		for (int slot = 0; slot < Cube.NUM_CORNERS; slot++) {
+			int packed = Cube.cornerValue(permutation[slot], orientations[slot]);
+			corners |= (long) packed << (Cube.BITS_PER_SLOT * slot);
+		}
+		return corners;
+	}
+
+	/**
+	 * Returns an edge state with the given value of the coordinate (FLIP, SLICE,
+	 * UD_EDGE_PERM or SLICE_PERM) that is
+	 * solved in every other respect the coordinate allows
+	 */
+	private static long edgesWith(int coordinate, int value) {
+		int[] permutation 	= new int[Cube.NUM_EDGES];
+		int[] orientations 	= new int[Cube.NUM_EDGES];
+		for (int slot = 0; slot < Cube.NUM_EDGES; slot++) permutation[slot] = slot;
+
+		if (coordinate == FLIP) {
+			// The last edge's orientation makes the total a multiple of 2
+			int sum = 0;
+			for (int slot = Cube.NUM_EDGES - 2; slot >= 0; slot--) {
+				orientations[slot] = value % EDGE_COLORS;
+				value /= EDGE_COLORS;
+				sum += orientations[slot];
+			}
+			orientations[Cube.NUM_EDGES - 1] = sum % EDGE_COLORS;
+		} else if (coordinate == SLICE) {
+			// Deal the middle-layer edges into the chosen slots, the others elsewhere
+			int slots = SLOTS_OF_SLICE[value];
+			int nextSlice = 0;
+			int nextUD 	  = 0;
+			for (int slot = 0; slot < Cube.NUM_EDGES; slot++) {
+				if ((slots & (1 << slot)) != 0) permutation[slot] = SLICE_SLOTS[nextSlice++];
+				else 							permutation[slot] = UD_SLOTS[nextUD++];
+			}
+		} else {
+			int[] slots = (coordinate == UD_EDGE_PERM) ? UD_SLOTS : SLICE_SLOTS;
+			int[] ranked = new int[slots.length];
+			Utilities.unrankPermutation(value, ranked);
+			for (int i = 0; i < slots.length; i++) permutation[slots[i]] = slots[ranked[i]];
+		}
+
+		long edges = 0;
+		for (int slot = 0; slot < Cube.NUM_EDGES; slot++) {
+			int packed = Cube.edgeValue(permutation[slot], orientations[slot]);
+			edges |= (long) packed << (Cube.BITS_PER_SLOT * slot);
+		}
+		return edges;
+	}
+
+
+	// Table building
+
+	/**
+	 * Returns the edge slots of the middle layer (if inSlice) or of the U and D
+	 * layers
+	 */
+	private static int[] buildEdgeSlots(boolean inSlice) {
+		int[] slots = new int[inSlice ? NUM_SLICE_EDGES : NUM_UD_EDGES];
+		int n = 0;
+		for (int slot = 0; slot < Cube.NUM_EDGES; slot++) {
+			boolean isSliceSlot = Cube.edgePosition(slot)[2] == 1;	// neither U nor D
+			if (isSliceSlot == inSlice) slots[n++] = slot;
+		}
+		return slots;
+	}
+
+	/**
+	 * Returns the position of each edge among the given slots, or -1 for edges
+	 * whose home is not one of them
+	 */
+	private static int[] buildSlotIndex(int[] slots) {
+		int[] index = new int[Cube.EDGE_INDEX_MASK + 1];
+		for (int i = 0; i < index.length; i++) index[i] = -1;
+		for (int i = 0; i < slots.length; i++) index[slots[i]] = i;
+		return index;
+	}
+
+	/**
+	 * Returns the bit set of the given slots
+	 */
+	private static int bitSet(int[] slots) {
+		int bits = 0;
+		for (int slot : slots) bits |= 1 << slot;
+		return bits;
+	}
+
+	/**
+	 * Ranks every bit set of 4 edge slots in increasing order, filling
+	 * SLICE_OF_SLOTS and returning the bit set of each rank
+	 */
+	private static int[] buildSliceRanks() {
+		int[] slotsOfSlice = new int[NUM_SLICES];
+		int rank = 0;
+		for (int slots = 0; slots < (1 << Cube.NUM_EDGES); slots++) {
+			if (Integer.bitCount(slots) != NUM_SLICE_EDGES) {
+				SLICE_OF_SLOTS[slots] = -1;
+				continue;
+			}
+			SLICE_OF_SLOTS[slots] = rank;
+			slotsOfSlice[rank++] = slots;
+		}
+		return slotsOfSlice;
+	}
+
+	/**
+	 * Returns the labels of the turns of G1: every turn of U and D, and the half
+	 * turns of the other sides
+	 */
+	private static int[] buildPhase2Moves() {
+		int[] moves = new int[10];	// 6 turns of U and D, 4 half turns
+		int n = 0;
+		for (int move = 0; move < Side.NUM_MOVES; move++) {
+			int face = Side.faceOf(move);
+			if (face == Side.FACE_U || face == Side.FACE_D || Side.directionOf(move) == Side.HALF)
+				moves[n++] = move;
+		}
+		return moves;
+	}
+
+	/**
+	 * Returns the move table of the given coordinate, over all turns or only the turns of G1
+	 */
+	private static char[] buildMoveTable(int size, int numMoves, int coordinate) {
+		char[] table = new char[size * numMoves];
+		for (int value = 0; value < size; value++) {
+			boolean isCorner = (coordinate == TWIST || coordinate == CORNER_PERM);
+			long state = isCorner ? cornersWith(coordinate, value) : edgesWith(coordinate, value);
+			for (int i = 0; i < numMoves; i++) {
+				int move = (numMoves == Side.NUM_MOVES) ? i : PHASE_2_MOVES[i];
+				int next;
+				switch (coordinate) {
+					case TWIST:        next = twistOf(Side.turnCorners(state, move));     break;
+					case FLIP:         next = flipOf(Side.turnEdges(state, move));        break;
+					case SLICE:        next = sliceOf(Side.turnEdges(state, move));       break;
+					case CORNER_PERM:  next = cornerPermOf(Side.turnCorners(state, move)); break;
+					case UD_EDGE_PERM: next = udEdgePermOf(Side.turnEdges(state, move));  break;
+					case SLICE_PERM:   next = slicePermOf(Side.turnEdges(state, move));   break;
+					default: throw new RuntimeException("Invalid coordinate - this error will never be thrown.");
+				}
+				table[value * numMoves + i] = (char) next;
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Returns the pruning table of a pair of coordinates: a breadth-first search
+	 * over the pair from (0, solvedSecond) using the given move tables
+	 */
+	private static byte[] buildPruningTable(char[] firstMove, int firstSize, char[] secondMove,
+			int secondSize, int numMoves, int solvedSecond) {
+		byte[] table = new byte[firstSize * secondSize];
+		for (int i = 0; i < table.length; i++) table[i] = -1;
+
+		int[] queue = new int[table.length];
+		int head = 0;
+		int tail = 0;
+		table[solvedSecond] = 0;
+		queue[tail++] = solvedSecond;
+		while (head < tail) {
+			int index 	= queue[head++];
+			int first 	= index / secondSize;
+			int second 	= index % secondSize;
+			for (int move = 0; move < numMoves; move++) {
+				int next = (firstMove[first * numMoves + move]) * secondSize
+						 + (secondMove[second * numMoves + move]);
+				if (table[next] == -1) {
+					table[next] = (byte) (table[index] + 1);
+					queue[tail++] = next;
+				}
+			}
+		}
+		return table;
+	}
+
+
+	// Getters
+
+	/**
+	 * Returns the algorithm for solving the cube as a string of quarter turns in
+	 * standard cube notation (the first found, or the shortest found if the search
+	 * went on shortening it), or null if none was found within the maximum length
+	 * and time
+	 */
+	public String getSolveAlgorithm() {
+		return solveAlgorithm;
+	}
+
+	/**
+	 * Returns the number of coordinate states whose neighbors were searched
+	 */
+	public long getNodesExpanded() {
+		return nodesExpanded;
+	}
+
+	/**
+	 * Returns true if the search ran out of time before finding any solution
+	 */
+	public boolean isTimedOut() {
+		return timedOut;
+	}
+
+
+	// Client
+
+	/**
+	 * A client program that solves the cube from the filename passed as an
+	 * argument, optionally followed by the maximum length of the solution in face
+	 * turns and the milliseconds to spend shortening it
+	 */
+	public static void main(String[] args) {
+		String filename = args[0];
+		int maxLength = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULT_MAX_LENGTH;
+		long shorteningMillis = (args.length > 2) ? Long.parseLong(args[2]) : 0;
+
+		Cube cube = new Cube(filename);
+		System.out.println("Solving cube.....");
+		TwoPhaseSolver solver = new TwoPhaseSolver(cube, maxLength, DEFAULT_TIMEOUT_MILLIS,
+			shorteningMillis);
+		System.out.print("Solution: ");
+		System.out.println(solver.getSolveAlgorithm());
+	}
+}
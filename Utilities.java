@@ -40,5 +40,56 @@ public class Utilities {
 		else if (numValuesEqualTo1 == 2) 	return CUBLET_CENTER;
 		else if (numValuesEqualTo1 == 1) 	return CUBLET_EDGE;
 		else 								return CUBLET_CORNER;
-	}	
+	}
+
+	/**
+	 * Returns the rank (0 to n! - 1) of the permutation of 0 to n - 1 in the
+	 * given array
+	 */
+	public static int rankPermutation(int[] permutation) {
+		int n = permutation.length;
+		int rank = 0;
+		int seen = 0;	// bit set of the elements already ranked
+		for (int i = 0; i < n; i++) {
+			rank = rank * (n - i) + lehmerDigit(permutation[i], seen);
+			seen |= 1 << permutation[i];
+		}
+		return rank;
+	}
+
+	/**
+	 * Returns the digit of the Lehmer code for the given element of a permutation:
+	 * the number of smaller elements that come after it, which is the number of
+	 * smaller elements not in the bit set of elements that came before it
+	 */
+	public static int lehmerDigit(int element, int seen) {
+		return element - Integer.bitCount(seen & ((1 << element) - 1));
+	}
+
+	/**
+	 * Fills the given array with the permutation of 0 to n - 1 with the given
+	 * rank, where n is the length of the array
+	 */
+	public static void unrankPermutation(int rank, int[] permutation) {
+		int n = permutation.length;
+
+		// Recover the Lehmer code, last digit first
+		for (int i = n - 1; i >= 0; i--) {
+			permutation[i] = rank % (n - i);
+			rank /= (n - i);
+		}
+
+		// Turn each digit into the element it counts from those still unused
+		boolean[] used = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			int skip = permutation[i];
+			int element = 0;
+			while (used[element] || skip > 0) {
+				if (!used[element]) skip--;
+				element++;
+			}
+			used[element] = true;
+			permutation[i] = element;
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: JMH benchmarks of the operations a search makes on every cube it
+* reaches: copying it, checking whether it is solved, and comparing it to another
+* cube (both an equal one and a different one).
+***********************************************************************************/
+
+package cube;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CubeBenchmark {
+
+	private Cube solved;
+	private Cube scrambled;
+	private Cube scrambledCopy;
+	private Cube otherScrambled;
+
+	@Setup
+	public void setup() {
+		solved 			= new Cube();
+		scrambled 		= Scrambles.scramble(20, 1);
+		scrambledCopy 	= Scrambles.scramble(20, 1);
+		otherScrambled 	= Scrambles.scramble(20, 2);
+	}
+
+	@Benchmark
+	public Cube copy() {
+		return new Cube(scrambled);
+	}
+
+	@Benchmark
+	public boolean isSolvedOnSolved() {
+		return solved.isSolved();
+	}
+
+	@Benchmark
+	public boolean isSolvedOnScrambled() {
+		return scrambled.isSolved();
+	}
+
+	@Benchmark
+	public boolean equalsEqual() {
+		return scrambled.equals(scrambledCopy);
+	}
+
+	@Benchmark
+	public boolean equalsDifferent() {
+		return scrambled.equals(otherScrambled);
+	}
+}
@@ -0,0 +1,74 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: The fixed scrambles the benchmarks run on. A scramble is a sequence
+* of random quarter turns from a seeded generator, so every run measures the same
+* cubes. Turns that CanonicalMoves rules out as redundant are never drawn, so no
+* scramble cancels itself out (R R'), wastes turns (R R R) or commutes opposite
+* sides. That alone does not make the scramble optimal, so scrambles of up to
+* VERIFIED_DEPTH turns are also solved with IDA*, and any that it solves in fewer
+* turns are dropped and drawn again: a scramble of such a depth n is exactly n
+* quarter turns from solved. Deeper scrambles are too slow to verify.
+***********************************************************************************/
+
+package cube;
+
+import java.util.Random;
+
+public class Scrambles {
+
+	// Constants
+
+	// Deepest scramble checked to be optimal with IDA*
+	public static final int VERIFIED_DEPTH = 10;
+
+
+	// Helper methods
+
+	/**
+	 * Returns the cube reached from a solved cube by the given number of random
+	 * quarter turns, none of which CanonicalMoves rules out
+	 */
+	private static Cube canonicalScramble(int depth, Random random) {
+		Cube cube = new Cube();
+		int sequenceState = CanonicalMoves.START;
+		int turns = 0;
+		while (turns < depth) {
+			int move = Side.QUARTER_TURNS[random.nextInt(Side.QUARTER_TURNS.length)];
+			int nextState = CanonicalMoves.next(sequenceState, move);
+			if (nextState == CanonicalMoves.REDUNDANT) continue;
+			sequenceState = nextState;
+			cube = cube.turn(move);
+			turns++;
+		}
+		return cube;
+	}
+
+	/**
+	 * Returns the number of quarter turns in an optimal solution of the cube
+	 */
+	private static int optimalLength(Cube cube) {
+		IDAStarSolver solver = new IDAStarSolver(cube, new ManhattanHeuristic());
+		return Side.stringToMoves(solver.getSolveAlgorithm()).length;
+	}
+
+
+	// Static methods
+
+	/**
+	 * Returns the cube reached from a solved cube by the scramble of the given
+	 * depth and seed. If the depth is at most VERIFIED_DEPTH, the cube is
+	 * exactly that many quarter turns from solved.
+	 */
+	public static Cube scramble(int depth, long seed) {
+		if (depth < 0) throw new IllegalArgumentException("Depth must be nonnegative");
+
+		Random random = new Random(seed);
+		Cube cube = canonicalScramble(depth, random);
+		if (depth <= VERIFIED_DEPTH) {
+			while (optimalLength(cube) < depth) cube = canonicalScramble(depth, random);
+		}
+		return cube;
+	}
+}
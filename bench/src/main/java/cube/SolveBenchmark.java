@@ -0,0 +1,67 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: JMH benchmark of full solves with CubeSolver on a fixed corpus of
+* scrambles at each depth from 1 to 8. The heuristic is a parameter naming a
+* DistanceHeuristic class with a no-argument constructor; the default,
+* PatternDatabaseHeuristic, reads its tables from the working directory, so
+* generate them first (see CornerPatternDatabase and EdgePatternDatabase).
+***********************************************************************************/
+
+package cube;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolveBenchmark {
+
+	private static final int CORPUS_SIZE = 10;	// scrambles per depth
+
+	@Param({ "1", "2", "3", "4", "5", "6", "7", "8" })
+	public int depth;
+
+	@Param({ "PatternDatabaseHeuristic" })
+	public String heuristic;
+
+	private Cube[] corpus;
+	private DistanceHeuristic distanceHeuristic;
+
+	@Setup
+	public void setup() throws Exception {
+		corpus = new Cube[CORPUS_SIZE];
+		for (int i = 0; i < CORPUS_SIZE; i++) {
+			corpus[i] = Scrambles.scramble(depth, i);
+		}
+		distanceHeuristic = (DistanceHeuristic) Class.forName("cube." + heuristic)
+			.getConstructor()
+			.newInstance();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CORPUS_SIZE)
+	public void solve(Blackhole blackhole) {
+		for (Cube cube : corpus) {
+			blackhole.consume(new CubeSolver(cube, distanceHeuristic).getSolveAlgorithm());
+		}
+	}
+}
@@ -0,0 +1,65 @@
+/***********************************************************************************
+* Author: agent
+* Created: 10/18/26
+*
+* Description: JMH benchmarks of single turns: Side.turnClockwise on each side, and
+* Cube.turnCounterClockwise, both on a scrambled cube.
+***********************************************************************************/
+
+package cube;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TurnBenchmark {
+
+	@Param({ "B", "F", "L", "R", "D", "U" })
+	public String side;
+
+	private Cube cube;
+	private XCoordinate sideX;
+	private YCoordinate sideY;
+	private ZCoordinate sideZ;
+
+	@Setup
+	public void setup() {
+		cube = Scrambles.scramble(20, 1);
+		if 		(side.equals("B")) sideX = Cube.B;
+		else if (side.equals("F")) sideX = Cube.F;
+		else if (side.equals("L")) sideY = Cube.L;
+		else if (side.equals("R")) sideY = Cube.R;
+		else if (side.equals("D")) sideZ = Cube.D;
+		else 					   sideZ = Cube.U;
+	}
+
+	@Benchmark
+	public Cube sideTurnClockwise() {
+		if (sideX != null) return Side.turnClockwise(sideX, cube);
+		if (sideY != null) return Side.turnClockwise(sideY, cube);
+		return Side.turnClockwise(sideZ, cube);
+	}
+
+	@Benchmark
+	public Cube cubeTurnCounterClockwise() {
+		if (sideX != null) return cube.turnCounterClockwise(sideX);
+		if (sideY != null) return cube.turnCounterClockwise(sideY);
+		return cube.turnCounterClockwise(sideZ);
+	}
+}
@@ -7,7 +7,25 @@ import org.junit.runners.Suite;
 	TestCoordinates.class,
 	TestCublets.class,
 	TestCube.class,
-	TestCubeTurns.class
+	TestCubeTurns.class,
+	TestCubeCounterClockwiseAndHalfTurns.class,
+	TestTranspositionTable.class,
+	TestPatternDatabase.class,
+	TestCanonicalMoves.class,
+	TestSymmetry.class,
+	TestBucketOpenList.class,
+	TestNodeStore.class,
+	TestSearchMetrics.class,
+	TestCubletHeuristics.class,
+	TestIDAStarSolver.class,
+	TestTwoPhaseSolver.class,
+	TestParallelIDAStarSolver.class,
+	TestBatchSolver.class,
+	TestExternalMemorySolver.class,
+	TestBidirectionalSolver.class,
+	TestAnytimeSolver.class,
+	TestCubeSolverLimits.class,
+	TestCubeSolver.class
 })
 
 public class FullTestSuite {}
\ No newline at end of file
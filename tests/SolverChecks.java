@@ -0,0 +1,86 @@
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+// Scrambles and checks shared by the solver tests. Every solver is checked on the
+// same seeded scrambles, against the optimal length IDAStarSolver finds for them
+// (ManhattanHeuristic is admissible, so IDA* solutions are optimal).
+public class SolverChecks {
+
+	// The seeded scrambles every solver is checked on, 7 to 10 quarter turns long
+	public static final Cube[] SCRAMBLES = randomScrambles(2016, 7, 10, 2);
+
+	// Optimal solution lengths found so far, so each is only searched for once
+	private static final Map<Cube, Integer> OPTIMAL_LENGTHS = new HashMap<Cube, Integer>();
+
+	// Returns a solved cube turned with the given algorithm
+	public static Cube scramble(String algorithm) {
+		Cube cube = new Cube();
+		for (int move : Side.stringToMoves(algorithm)) cube = cube.turn(move);
+		return cube;
+	}
+
+	// Returns perDepth scrambles of each depth from minDepth to maxDepth, made of
+	// random quarter turns that CanonicalMoves does not rule out as redundant
+	public static Cube[] randomScrambles(long seed, int minDepth, int maxDepth, int perDepth) {
+		Random random = new Random(seed);
+		Cube[] scrambles = new Cube[(maxDepth - minDepth + 1) * perDepth];
+		int i = 0;
+		for (int depth = minDepth; depth <= maxDepth; depth++) {
+			for (int n = 0; n < perDepth; n++) {
+				Cube cube = new Cube();
+				int sequenceState = CanonicalMoves.START;
+				int turns = 0;
+				while (turns < depth) {
+					int move = Side.QUARTER_TURNS[random.nextInt(Side.QUARTER_TURNS.length)];
+					int nextState = CanonicalMoves.next(sequenceState, move);
+					if (nextState == CanonicalMoves.REDUNDANT) continue;
+					sequenceState = nextState;
+					cube = cube.turn(move);
+					turns++;
+				}
+				scrambles[i++] = cube;
+			}
+		}
+		return scrambles;
+	}
+
+	// Returns the number of quarter turns in an optimal solution of the given cube
+	public static int optimalLength(Cube cube) {
+		Integer length = OPTIMAL_LENGTHS.get(cube);
+		if (length == null) {
+			IDAStarSolver solver = new IDAStarSolver(cube, new ManhattanHeuristic());
+			length = Side.stringToMoves(solver.getSolveAlgorithm()).length;
+			OPTIMAL_LENGTHS.put(cube, length);
+		}
+		return length;
+	}
+
+	// Checks that making the given algorithm on the given cube solves it, and
+	// returns its number of quarter turns
+	public static int assertSolves(Cube cube, String algorithm) {
+		assertNotNull("A solution should be found", algorithm);
+		int[] moves = Side.stringToMoves(algorithm);
+		for (int move : moves) cube = cube.turn(move);
+		assertTrue("The solution " + algorithm + " should solve the cube", cube.isSolved());
+		return moves.length;
+	}
+
+	// Checks that making the given algorithm on the given cube solves it in an
+	// optimal number of quarter turns
+	public static void assertSolvesOptimally(Cube cube, String algorithm) {
+		assertEquals("The solution " + algorithm + " should be optimal",
+			optimalLength(cube), assertSolves(cube, algorithm));
+	}
+
+	// Checks that making the given algorithm on the given cube solves it in at
+	// most bound times an optimal number of quarter turns
+	public static void assertSolvesWithin(Cube cube, String algorithm, double bound) {
+		int length = assertSolves(cube, algorithm);
+		assertTrue("The solution " + algorithm + " should be within " + bound + " times optimal",
+			length <= bound * optimalLength(cube));
+	}
+
+}
@@ -0,0 +1,87 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestAnytimeSolver {
+
+	// Scramble a solved cube with the given algorithm
+	private Cube scramble(String scramble) {
+		Cube cube = new Cube();
+		for (int move : Side.stringToMoves(scramble)) cube = cube.turn(move);
+		return cube;
+	}
+
+	// Check that making the given algorithm on the given cube solves it
+	private void assertSolves(Cube cube, String algorithm) {
+		for (int move : Side.stringToMoves(algorithm)) cube = cube.turn(move);
+		assertTrue("The solution should solve the cube", cube.isSolved());
+	}
+
+	// Solve a scrambled cube, and check that every solution published solves it
+	// and is no longer than the one before, and that the last is optimal
+	// (ManhattanHeuristic is admissible) and as short as the scramble
+	@Test
+	public void testSolvesOptimally() {
+		String scramble = "R,U,F',L";
+		final Cube cube = scramble(scramble);
+		final List<String> solutions = new ArrayList<String>();
+		final List<Double> bounds = new ArrayList<Double>();
+
+		AnytimeSolver solver = new AnytimeSolver(cube, new ManhattanHeuristic(),
+			new SolutionListener() {
+				public void solutionFound(String solveAlgorithm, double suboptimality) {
+					solutions.add(solveAlgorithm);
+					bounds.add(suboptimality);
+				}
+			});
+
+		assertFalse("A solution should be published", solutions.isEmpty());
+		for (int i = 0; i < solutions.size(); i++) {
+			assertSolves(cube, solutions.get(i));
+			if (i > 0) {
+				assertTrue("Solutions should never get longer",
+					Side.stringToMoves(solutions.get(i)).length
+						<= Side.stringToMoves(solutions.get(i - 1)).length);
+				assertTrue("Bounds should never get looser", bounds.get(i) <= bounds.get(i - 1));
+			}
+		}
+		assertEquals(solutions.get(solutions.size() - 1), solver.getSolveAlgorithm());
+		assertTrue("The last solution should be proven optimal", solver.isOptimal());
+		assertFalse(solver.isCutOff());
+		assertEquals("The solution should be as short as the scramble",
+			Side.stringToMoves(scramble).length, Side.stringToMoves(solver.getSolveAlgorithm()).length);
+	}
+
+	@Test
+	public void testRU() {
+		Cube cubeAfterRU = new Cube("tests/cube_after_RU.txt");
+		AnytimeSolver solver = new AnytimeSolver(cubeAfterRU, new ManhattanHeuristic(), null);
+		assertEquals("U',R'", solver.getSolveAlgorithm());
+		assertTrue(solver.isOptimal());
+	}
+
+	@Test
+	public void testSolved() {
+		AnytimeSolver solver = new AnytimeSolver(new Cube(), new ManhattanHeuristic(), null);
+		assertEquals("", solver.getSolveAlgorithm());
+		assertTrue(solver.isOptimal());
+	}
+
+	// A search cut off by its node limit keeps what it found, and proves nothing
+	// it did not finish
+	@Test
+	public void testNodeLimit() {
+		SolverOptions options = new SolverOptions();
+		options.setWeight(AnytimeSolver.DEFAULT_INITIAL_WEIGHT);
+		options.setNodeLimit(3);
+		Cube cube = scramble("R,U,F',L,D',B");
+		AnytimeSolver solver = new AnytimeSolver(cube, new ManhattanHeuristic(), options, null);
+		assertTrue("The search should be cut off", solver.isCutOff());
+		assertFalse(solver.isOptimal());
+		assertTrue(solver.getNodesExpanded() <= 3);
+		if (solver.getSolveAlgorithm() != null) assertSolves(cube, solver.getSolveAlgorithm());
+	}
+
+}
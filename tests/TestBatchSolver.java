@@ -0,0 +1,72 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TestBatchSolver {
+
+	private BatchSolver batchSolver;
+
+	@Before
+	public void setUp() {
+		// Solve optimally, so every solution is as short as the turns in its file
+		SolverOptions options = new SolverOptions();
+		options.setSearchMode(SolverOptions.A_STAR);
+		batchSolver = new BatchSolver(new ManhattanHeuristic(), options, 2);
+	}
+
+	// Solve the given cube files as a batch, and return the output line of each
+	private Map<String, String[]> solve(List<String> filenames, int expectedFailed) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		int numFailed = batchSolver.solve(filenames, new PrintStream(bytes));
+		assertEquals("Wrong number of cubes failed", expectedFailed, numFailed);
+
+		Map<String, String[]> lines = new HashMap<String, String[]>();
+		for (String line : bytes.toString().split("\n")) {
+			String[] fields = line.split("\t", -1);
+			lines.put(fields[0], fields);
+		}
+		assertEquals("There should be a line per cube", filenames.size(), lines.size());
+		return lines;
+	}
+
+	// Check that the line of the given cube file has a solution of the given
+	// length, which solves the cube
+	private void assertSolves(String[] line, int length) {
+		Cube cube = new Cube(line[0]);
+		int[] solution = Side.stringToMoves(line[1]);
+		for (int move : solution) cube = cube.turn(move);
+		assertTrue("The solution should solve " + line[0], cube.isSolved());
+		assertEquals("The solution should be as short as the turns in " + line[0],
+			length, solution.length);
+		assertEquals("The length should be the number of turns", length, Integer.parseInt(line[2]));
+	}
+
+	@Test
+	public void testSolvesEveryCube() {
+		List<String> filenames = Arrays.asList("tests/cube_solved.txt", "tests/cube_after_R.txt",
+			"tests/cube_after_RU.txt", "tests/cube_after_FL.txt", "tests/cube_after_BD.txt");
+		Map<String, String[]> lines = solve(filenames, 0);
+		assertSolves(lines.get("tests/cube_solved.txt"), 0);
+		assertSolves(lines.get("tests/cube_after_R.txt"), 1);
+		assertSolves(lines.get("tests/cube_after_RU.txt"), 2);
+		assertSolves(lines.get("tests/cube_after_FL.txt"), 2);
+		assertSolves(lines.get("tests/cube_after_BD.txt"), 2);
+	}
+
+	@Test
+	public void testReportsErrors() {
+		List<String> filenames = Arrays.asList("tests/cube_after_R.txt",
+			"tests/cube_invalid_orientation.txt", "tests/no_such_cube.txt");
+		Map<String, String[]> lines = solve(filenames, 2);
+		assertSolves(lines.get("tests/cube_after_R.txt"), 1);
+		assertTrue(lines.get("tests/cube_invalid_orientation.txt")[1].startsWith("error: "));
+		assertTrue(lines.get("tests/no_such_cube.txt")[1].startsWith("error: "));
+	}
+
+}
@@ -0,0 +1,22 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestBidirectionalSolver {
+
+	@Test
+	public void testSolved() {
+		BidirectionalSolver solver = new BidirectionalSolver(new Cube(), new ManhattanHeuristic());
+		assertEquals("", solver.getSolveAlgorithm());
+	}
+
+	// Scrambles of odd and even lengths, so the searches meet both in and off the
+	// middle of the solution
+	@Test
+	public void testScrambles() {
+		for (Cube cube : SolverChecks.SCRAMBLES) {
+			BidirectionalSolver solver = new BidirectionalSolver(cube, new ManhattanHeuristic());
+			SolverChecks.assertSolvesOptimally(cube, solver.getSolveAlgorithm());
+		}
+	}
+
+}
@@ -0,0 +1,81 @@
+import java.util.NoSuchElementException;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestBucketOpenList {
+
+	private BucketOpenList openList;
+
+	@Before
+	public void setUp() {
+		openList = new BucketOpenList();
+	}
+
+	@Test
+	public void testSmallestPriorityFirst() {
+		openList.insert(7, 7, 3);
+		openList.insert(2, 2, 2);
+		openList.insert(5, 5, 1);
+		assertEquals(2, openList.delMin());
+		assertEquals(5, openList.delMin());
+		assertEquals(7, openList.delMin());
+		assertTrue(openList.isEmpty());
+	}
+
+	@Test
+	public void testTiesGoToSmallerDistance() {
+		openList.insert(4, 6, 4);
+		openList.insert(1, 6, 1);
+		openList.insert(2, 6, 2);
+		assertEquals(1, openList.delMin());
+		assertEquals(2, openList.delMin());
+		assertEquals(4, openList.delMin());
+	}
+
+	@Test
+	public void testPrioritiesRoundDown() {
+		openList.insert(0, 4.9, 3);
+		openList.insert(1, 4.1, 2);
+		openList.insert(2, 3.9, 5);
+		assertEquals(2, openList.delMin());
+		assertEquals(1, openList.delMin());	// same bucket as 0, but nearer
+		assertEquals(0, openList.delMin());
+	}
+
+	@Test
+	public void testInsertBelowMinimumAfterRemoving() {
+		openList.insert(10, 10, 0);
+		openList.insert(12, 12, 0);
+		assertEquals(10, openList.delMin());
+		openList.insert(3, 3, 0);
+		assertEquals(3, openList.delMin());
+		assertEquals(12, openList.delMin());
+	}
+
+	@Test
+	public void testGrowsPastInitialSizes() {
+		// Many items, with priorities and distances beyond the initial arrays
+		int n = 1000;
+		for (int i = n - 1; i >= 0; i--) {
+			openList.insert(i, i / 10, 100 - i % 10);
+		}
+		assertEquals(n, openList.size());
+		for (int p = 0; p < n / 10; p++) {
+			for (int i = 9; i >= 0; i--) {
+				assertEquals(10 * p + i, openList.delMin());
+			}
+		}
+		assertTrue(openList.isEmpty());
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testDelMinWhenEmpty() {
+		openList.delMin();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativePriority() {
+		openList.insert(0, -1, 0);
+	}
+}
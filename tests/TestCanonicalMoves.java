@@ -0,0 +1,64 @@
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestCanonicalMoves {
+
+	private static final int MAX_DEPTH = 3;
+
+	/**
+	 * Adds the hash of every cube reached by a canonical sequence of exactly
+	 * togo more moves to the given set, and returns how many sequences there were
+	 */
+	private int reach(Cube cube, int state, int togo, Set<Long> reached) {
+		if (togo == 0) {
+			reached.add(cube.stateHash());
+			return 1;
+		}
+		int sequences = 0;
+		for (int move : Side.QUARTER_TURNS) {
+			int next = CanonicalMoves.next(state, move);
+			if (next != CanonicalMoves.REDUNDANT)
+				sequences += reach(cube.turn(move), next, togo - 1, reached);
+		}
+		return sequences;
+	}
+
+	@Test
+	public void testRedundantPairs() {
+		int r = Side.move(Side.FACE_R, Side.CLOCKWISE);
+		int rPrime = Side.move(Side.FACE_R, Side.COUNTER_CLOCKWISE);
+		int l = Side.move(Side.FACE_L, Side.CLOCKWISE);
+		int afterR = CanonicalMoves.next(CanonicalMoves.START, r);
+		int afterRPrime = CanonicalMoves.next(CanonicalMoves.START, rPrime);
+
+		// R R', R' R', R R R and R L are redundant, but L R is not
+		assertEquals(CanonicalMoves.REDUNDANT, CanonicalMoves.next(afterR, rPrime));
+		assertEquals(CanonicalMoves.REDUNDANT, CanonicalMoves.next(afterRPrime, rPrime));
+		assertEquals(CanonicalMoves.REDUNDANT, CanonicalMoves.next(CanonicalMoves.next(afterR, r), r));
+		assertEquals(CanonicalMoves.REDUNDANT, CanonicalMoves.next(afterR, l));
+		int afterL = CanonicalMoves.next(CanonicalMoves.START, l);
+		assertTrue(CanonicalMoves.next(afterL, r) != CanonicalMoves.REDUNDANT);
+	}
+
+	@Test
+	public void testHalfTurnsAreNeverMade() {
+		int r2 = Side.move(Side.FACE_R, Side.HALF);
+		assertEquals(CanonicalMoves.REDUNDANT, CanonicalMoves.next(CanonicalMoves.START, r2));
+	}
+
+	@Test
+	public void testShortSequencesReachDistinctCubes() {
+		// There are exactly 12, 114 and 1068 cubes 1, 2 and 3 quarter turns from
+		// solved, so the canonical sequences must reach each of them exactly once
+		int[] expected = { 1, 12, 114, 1068 };
+		for (int depth = 0; depth <= MAX_DEPTH; depth++) {
+			Set<Long> reached = new HashSet<Long>();
+			int sequences = reach(new Cube(), CanonicalMoves.START, depth, reached);
+			assertEquals(expected[depth], sequences);
+			assertEquals(expected[depth], reached.size());
+		}
+	}
+}
@@ -104,6 +104,12 @@ public class TestCube {
 		assertTrue(cube.equals(solved));
 	}
 
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructionRejectsInvalidOrientation() {
+		// An orientation of 4 does not fit in a corner slot
+		new Cube("tests/cube_invalid_orientation.txt");
+	}
+
 
 	// Solve checking tests
 
@@ -139,4 +145,90 @@ public class TestCube {
 		Cube solved = new Cube();
 		assertTrue(solved.equals(cube));
 	}
-}
\ No newline at end of file
+
+
+	@Test
+	public void testEqualsObject() {
+		Object solved = new Cube();
+		assertTrue(cube.equals(solved));
+		assertFalse(cube.equals(cube.turnClockwise(Cube.F)));
+		assertFalse(cube.equals((Object) null));
+		assertFalse(cube.equals("not a cube"));
+	}
+
+
+	// Hashing
+
+	@Test
+	public void testIncrementalHashMatchesFullHash() {
+		// Turn a cube every way, and check the hash it kept against one computed
+		// from scratch from the same state
+		Cube turned = new Cube();
+		for (int i = 0; i < 3; i++) {
+			for (int move = 0; move < Side.NUM_MOVES; move++) {
+				turned = turned.turn(move);
+				Cube rebuilt = new Cube(turned.corners(), turned.edges());
+				assertEquals(rebuilt.stateHash(), turned.stateHash());
+			}
+		}
+
+		Cube inPlace = new Cube();
+		for (int i = 0; i < 3; i++) {
+			for (int move = 0; move < Side.NUM_MOVES; move++) {
+				inPlace.turnInPlace(move);
+			}
+		}
+		assertTrue(inPlace.equals(turned));
+		assertEquals(turned.stateHash(), inPlace.stateHash());
+	}
+
+	@Test
+	public void testEqualCubesHaveEqualHashes() {
+		// The same state reached by different turns, or read from a file
+		Cube afterU = new Cube("tests/cube_after_U.txt");
+		Cube viaTurns = cube.turnCounterClockwise(Cube.U).turnHalf(Cube.U);
+		assertTrue(afterU.equals((Object) viaTurns));
+		assertEquals(afterU.hashCode(), viaTurns.hashCode());
+		assertEquals(afterU.stateHash(), viaTurns.stateHash());
+		assertEquals(cube.stateHash(), new Cube().stateHash());
+	}
+
+
+	// Composition
+
+	@Test
+	public void testComposeMatchesTurns() {
+		// Composing the cubes two sequences of turns reach gives the cube both
+		// sequences reach, one after the other
+		int[] first  = { Side.move(Side.FACE_R, Side.CLOCKWISE), Side.move(Side.FACE_U, Side.HALF),
+			Side.move(Side.FACE_F, Side.COUNTER_CLOCKWISE) };
+		int[] second = { Side.move(Side.FACE_L, Side.CLOCKWISE), Side.move(Side.FACE_D, Side.CLOCKWISE),
+			Side.move(Side.FACE_B, Side.COUNTER_CLOCKWISE), Side.move(Side.FACE_R, Side.HALF) };
+
+		Cube a = new Cube();
+		for (int move : first) a = a.turn(move);
+		Cube b = new Cube();
+		for (int move : second) b = b.turn(move);
+		Cube both = a;
+		for (int move : second) both = both.turn(move);
+
+		assertTrue(both.equals(a.compose(b)));
+		assertTrue(a.equals(a.compose(new Cube())));
+		assertTrue(a.equals(new Cube().compose(a)));
+	}
+
+	@Test
+	public void testInverseUndoesTurns() {
+		int[] moves = { Side.move(Side.FACE_F, Side.CLOCKWISE), Side.move(Side.FACE_R, Side.CLOCKWISE),
+			Side.move(Side.FACE_U, Side.COUNTER_CLOCKWISE), Side.move(Side.FACE_B, Side.HALF) };
+		Cube turned = new Cube();
+		for (int move : moves) turned = turned.turn(move);
+
+		Cube undone = new Cube();
+		for (int i = moves.length - 1; i >= 0; i--) undone = undone.turn(Side.inverse(moves[i]));
+
+		assertTrue(undone.equals(turned.inverse()));
+		assertTrue(turned.compose(turned.inverse()).isSolved());
+		assertTrue(turned.inverse().compose(turned).isSolved());
+	}
+}
@@ -0,0 +1,147 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestCubeCounterClockwiseAndHalfTurns {
+
+	private Cube solved;
+
+	@Before
+	public void setUp() {
+		// Create a solved cube as a starting point for turns
+		solved = new Cube();
+	}
+
+	//---------------------------------------
+	// Single counter-clockwise turns
+	//---------------------------------------
+
+	// Undo each preset clockwise turn with a counter-clockwise turn, and check
+	// that the cube is solved again
+	@Test
+	public void testBPrime() {
+		Cube cubeAfterB = new Cube("tests/cube_after_B.txt");
+		assertTrue("A B' should undo a B",
+			cubeAfterB.turnCounterClockwise(Cube.B).isSolved());
+	}
+
+	@Test
+	public void testFPrime() {
+		Cube cubeAfterF = new Cube("tests/cube_after_F.txt");
+		assertTrue("An F' should undo an F",
+			cubeAfterF.turnCounterClockwise(Cube.F).isSolved());
+	}
+
+	@Test
+	public void testLPrime() {
+		Cube cubeAfterL = new Cube("tests/cube_after_L.txt");
+		assertTrue("An L' should undo an L",
+			cubeAfterL.turnCounterClockwise(Cube.L).isSolved());
+	}
+
+	@Test
+	public void testRPrime() {
+		Cube cubeAfterR = new Cube("tests/cube_after_R.txt");
+		assertTrue("An R' should undo an R",
+			cubeAfterR.turnCounterClockwise(Cube.R).isSolved());
+	}
+
+	@Test
+	public void testDPrime() {
+		Cube cubeAfterD = new Cube("tests/cube_after_D.txt");
+		assertTrue("A D' should undo a D",
+			cubeAfterD.turnCounterClockwise(Cube.D).isSolved());
+	}
+
+	@Test
+	public void testUPrime() {
+		Cube cubeAfterU = new Cube("tests/cube_after_U.txt");
+		assertTrue("A U' should undo a U",
+			cubeAfterU.turnCounterClockwise(Cube.U).isSolved());
+	}
+
+	@Test
+	public void testCounterClockwiseEqualsThreeClockwise() {
+		Cube testCube = solved.turnCounterClockwise(Cube.F);
+		Cube threeClockwise = solved
+			.turnClockwise(Cube.F)
+			.turnClockwise(Cube.F)
+			.turnClockwise(Cube.F);
+		assertTrue("An F' should equal three F turns", testCube.equals(threeClockwise));
+	}
+
+	@Test
+	public void testUndoTwoAxes() {
+		Cube cubeAfterRU = new Cube("tests/cube_after_RU.txt");
+		Cube testCube = cubeAfterRU
+			.turnCounterClockwise(Cube.U)
+			.turnCounterClockwise(Cube.R);
+		assertTrue("After moves U', R' the test cube should be solved",
+			testCube.isSolved());
+	}
+
+
+	//---------------------------------------
+	// Half turns
+	//---------------------------------------
+
+	@Test
+	public void testHalfEqualsTwoClockwise() {
+		Cube cubeAfterL = new Cube("tests/cube_after_L.txt");
+		Cube testCube = solved.turnHalf(Cube.L);
+		assertTrue("An L2 should equal two L turns",
+			testCube.equals(cubeAfterL.turnClockwise(Cube.L)));
+	}
+
+	@Test
+	public void testHalfEqualsTwoCounterClockwise() {
+		Cube testCube = solved.turnHalf(Cube.B);
+		Cube twoCounterClockwise = solved
+			.turnCounterClockwise(Cube.B)
+			.turnCounterClockwise(Cube.B);
+		assertTrue("A B2 should equal two B' turns", testCube.equals(twoCounterClockwise));
+	}
+
+	@Test
+	public void testTwoHalfTurnsSolveTheCube() {
+		Cube testCube = solved
+			.turnHalf(Cube.D)
+			.turnHalf(Cube.D);
+		assertTrue("Two D2 turns should leave the cube solved", testCube.isSolved());
+	}
+
+	@Test
+	public void testHalfTurnUnsolvesTheCube() {
+		assertFalse("A U2 should leave the cube unsolved", solved.turnHalf(Cube.U).isSolved());
+	}
+
+
+	//---------------------------------------
+	// Mixed turns
+	//---------------------------------------
+
+	@Test
+	public void testMakingMovesAndUndoingThemSolvesTheCube() {
+		Cube testTurns = solved
+			.turnClockwise(Cube.B)
+			.turnHalf(Cube.L)
+			.turnCounterClockwise(Cube.D)
+			.turnClockwise(Cube.R)
+			.turnCounterClockwise(Cube.R)
+			.turnClockwise(Cube.D)
+			.turnHalf(Cube.L)
+			.turnCounterClockwise(Cube.B);
+		assertTrue("Cube should be solved after making some moves and undoing them",
+			testTurns.isSolved());
+	}
+
+	@Test
+	public void testMoveLabelsMatchSides() {
+		int move = Side.move(Side.FACE_F, Side.COUNTER_CLOCKWISE);
+		assertTrue("Turning by move label should match turning by side",
+			solved.turn(move).equals(solved.turnCounterClockwise(Cube.F)));
+		assertTrue("The inverse of a move should undo it",
+			solved.turn(move).turn(Side.inverse(move)).isSolved());
+		assertEquals("F'", Side.moveToString(move));
+	}
+
+}
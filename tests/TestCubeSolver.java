@@ -0,0 +1,102 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestCubeSolver {
+
+	// Seeded scrambles of 6 to 8 quarter turns
+	private static final Cube[] SCRAMBLES = SolverChecks.randomScrambles(2004, 6, 8, 3);
+
+	// Returns settings for an A* search with the given weight
+	private SolverOptions aStar(double weight) {
+		SolverOptions options = new SolverOptions();
+		options.setSearchMode(SolverOptions.A_STAR);
+		options.setWeight(weight);
+		return options;
+	}
+
+	// A* with an admissible heuristic finds optimal solutions
+	@Test
+	public void testAStarIsOptimal() {
+		for (Cube cube : SCRAMBLES) {
+			CubeSolver solver = new CubeSolver(cube, new ManhattanHeuristic(), aStar(1.0));
+			SolverChecks.assertSolvesOptimally(cube, solver.getSolveAlgorithm());
+		}
+	}
+
+	// Weighted A* finds solutions at most weight times as long as optimal
+	@Test
+	public void testWeightedAStarIsBounded() {
+		for (double weight : new double[] { 1.5, 2.0, 3.0 }) {
+			for (Cube cube : SCRAMBLES) {
+				CubeSolver solver = new CubeSolver(cube, new ManhattanHeuristic(), aStar(weight));
+				SolverChecks.assertSolvesWithin(cube, solver.getSolveAlgorithm(), weight);
+			}
+		}
+	}
+
+	// A* on buckets: priorities are integers, so the order is exact and the
+	// solutions are optimal
+	@Test
+	public void testBucketsAStarIsOptimal() {
+		for (Cube cube : SCRAMBLES) {
+			SolverOptions options = aStar(1.0);
+			options.setOpenList(SolverOptions.BUCKETS);
+			CubeSolver solver = new CubeSolver(cube, new ManhattanHeuristic(), options);
+			SolverChecks.assertSolvesOptimally(cube, solver.getSolveAlgorithm());
+		}
+	}
+
+	// Weighted A* on buckets: priorities are rounded down, but a solution's turns
+	// are a whole number, so it is still at most weight times as long as optimal
+	@Test
+	public void testBucketsWeightedAStarIsBounded() {
+		for (double weight : new double[] { 1.5, 2.0, 2.5 }) {
+			for (Cube cube : SCRAMBLES) {
+				SolverOptions options = aStar(weight);
+				options.setOpenList(SolverOptions.BUCKETS);
+				CubeSolver solver = new CubeSolver(cube, new ManhattanHeuristic(), options);
+				SolverChecks.assertSolvesWithin(cube, solver.getSolveAlgorithm(), weight);
+			}
+		}
+	}
+
+	// Symmetry reduction prunes a state when a symmetric one was reached in as few
+	// turns. Symmetric states are as far from solved, so A* stays optimal.
+	@Test
+	public void testSymmetryReductionAStarIsOptimal() {
+		for (Cube cube : SCRAMBLES) {
+			SolverOptions options = aStar(1.0);
+			options.setSymmetryReduction(true);
+			CubeSolver solver = new CubeSolver(cube, new ManhattanHeuristic(), options);
+			SolverChecks.assertSolvesOptimally(cube, solver.getSolveAlgorithm());
+		}
+	}
+
+	// Keeping each node's score must not change the search: the incremental
+	// heuristic and the same heuristic rescored from scratch expand the same nodes
+	@Test
+	public void testIncrementalMatchesRescoring() {
+		final DistanceHeuristic manhattan = new ManhattanHeuristic();
+		DistanceHeuristic rescoring = new DistanceHeuristic() {
+			public int distance(Cube cube) {
+				return manhattan.distance(cube);
+			}
+		};
+		for (double weight : new double[] { 1.0, 2.0 }) {
+			for (Cube cube : SCRAMBLES) {
+				CubeSolver incremental = new CubeSolver(cube, new ManhattanHeuristic(), aStar(weight));
+				CubeSolver plain = new CubeSolver(cube, rescoring, aStar(weight));
+				assertEquals(plain.getSolveAlgorithm(), incremental.getSolveAlgorithm());
+				assertEquals(plain.getNodesExpanded(), incremental.getNodesExpanded());
+			}
+		}
+	}
+
+	@Test
+	public void testSolved() {
+		CubeSolver solver = new CubeSolver(new Cube(), new ManhattanHeuristic(), aStar(1.0));
+		assertEquals("", solver.getSolveAlgorithm());
+		assertEquals(0, solver.getNodesExpanded());
+	}
+
+}
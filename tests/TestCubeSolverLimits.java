@@ -0,0 +1,99 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestCubeSolverLimits {
+
+	private DistanceHeuristic manhattan;
+	private Cube deepScramble;
+
+	@Before
+	public void setUp() {
+		manhattan = new ManhattanHeuristic();
+		// Far too deep for plain A* to solve within any of the limits below
+		deepScramble = SolverChecks.randomScrambles(22, 25, 25, 1)[0];
+	}
+
+	// Returns settings for a plain A* search
+	private SolverOptions aStar() {
+		SolverOptions options = new SolverOptions();
+		options.setSearchMode(SolverOptions.A_STAR);
+		return options;
+	}
+
+	// Check that a search cut off with the given status reports the best progress
+	// it made: the best algorithm reaches the best cube, whose distance is the
+	// best distance and no more than the starting cube's
+	private void assertCutOff(CubeSolver solver, Cube cube, int status) {
+		SolveResult result = solver.getResult();
+		assertEquals(status, result.getStatus());
+		assertFalse(result.isSolved());
+		assertNull("A cut off search has no solution", solver.getSolveAlgorithm());
+		assertNull(result.getSolveAlgorithm());
+
+		Cube best = cube;
+		for (int move : Side.stringToMoves(result.getBestAlgorithm())) best = best.turn(move);
+		assertTrue("The best algorithm should reach the best cube", best.equals(result.getBestCube()));
+		assertEquals(manhattan.distance(best), result.getBestDistance());
+		assertTrue(result.getBestDistance() <= manhattan.distance(cube));
+	}
+
+	@Test
+	public void testNodeLimit() {
+		SolverOptions options = aStar();
+		options.setNodeLimit(100);
+		CubeSolver solver = new CubeSolver(deepScramble, manhattan, options);
+		assertCutOff(solver, deepScramble, SolveResult.NODE_LIMIT);
+		assertEquals(100, solver.getNodesExpanded());
+	}
+
+	@Test
+	public void testTimeLimit() {
+		SolverOptions options = aStar();
+		options.setTimeLimitMillis(50);
+		CubeSolver solver = new CubeSolver(deepScramble, manhattan, options);
+		assertCutOff(solver, deepScramble, SolveResult.TIME_LIMIT);
+	}
+
+	@Test
+	public void testMemoryLimit() {
+		SolverOptions options = aStar();
+		options.setMemoryLimitBytes(1 << 22);
+		CubeSolver solver = new CubeSolver(deepScramble, manhattan, options);
+		assertCutOff(solver, deepScramble, SolveResult.MEMORY_LIMIT);
+	}
+
+	// Limits the search does not reach leave it to solve the cube
+	@Test
+	public void testWithinLimits() {
+		SolverOptions options = aStar();
+		options.setNodeLimit(1000000);
+		options.setMemoryLimitBytes(1L << 30);
+		options.setTimeLimitMillis(60000);
+		Cube cube = SolverChecks.SCRAMBLES[0];
+		CubeSolver solver = new CubeSolver(cube, manhattan, options);
+		assertEquals(SolveResult.SOLVED, solver.getResult().getStatus());
+		assertEquals(solver.getSolveAlgorithm(), solver.getResult().getSolveAlgorithm());
+		SolverChecks.assertSolvesOptimally(cube, solver.getSolveAlgorithm());
+	}
+
+	// A time limit too large to add to the clock in nanoseconds is no limit
+	@Test
+	public void testLargestTimeLimit() {
+		SolverOptions options = aStar();
+		options.setTimeLimitMillis(Long.MAX_VALUE);
+		Cube cubeAfterRU = new Cube("tests/cube_after_RU.txt");
+		CubeSolver solver = new CubeSolver(cubeAfterRU, manhattan, options);
+		assertTrue(solver.getResult().isSolved());
+		assertEquals("U',R'", solver.getSolveAlgorithm());
+	}
+
+	@Test
+	public void testExhaustedResult() {
+		Cube cube = new Cube("tests/cube_after_R.txt");
+		SolveResult result = new SolveResult(SolveResult.EXHAUSTED, null, cube, "", 1);
+		assertFalse(result.isSolved());
+		assertEquals(SolveResult.EXHAUSTED, result.getStatus());
+		assertTrue(result.toString().contains("best distance 1"));
+	}
+
+}
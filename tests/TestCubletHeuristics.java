@@ -0,0 +1,71 @@
+import java.util.Random;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestCubletHeuristics {
+
+	private static final int NUM_SCRAMBLES = 200;
+	private static final int MAX_SCRAMBLE_LENGTH = 12;
+
+	private DistanceHeuristic manhattan = new ManhattanHeuristic();
+	private DistanceHeuristic misplaced = new MisplacedCubletsHeuristic();
+
+	@Test
+	public void testSolvedCubeIsZero() {
+		Cube cube = new Cube("tests/cube_solved.txt");
+		assertEquals(0, manhattan.distance(cube));
+		assertEquals(0, misplaced.distance(cube));
+	}
+
+	@Test
+	public void testOneTurnFromSolved() {
+		// A turn moves 4 corners and 4 edges out of place
+		for (int move = 0; move < Side.NUM_MOVES; move++) {
+			Cube cube = new Cube().turn(move);
+			assertEquals(8, misplaced.distance(cube));
+			if (Side.directionOf(move) != Side.HALF)
+				assertEquals(1, manhattan.distance(cube));
+		}
+		assertEquals(1, manhattan.distance(new Cube("tests/cube_after_R.txt")));
+	}
+
+	@Test
+	public void testManhattanIsAdmissibleAndConsistent() {
+		Random random = new Random(1);
+		for (int i = 0; i < NUM_SCRAMBLES; i++) {
+			Cube cube = new Cube();
+			int length = random.nextInt(MAX_SCRAMBLE_LENGTH + 1);
+			for (int j = 0; j < length; j++) {
+				cube = cube.turn(Side.QUARTER_TURNS[random.nextInt(Side.QUARTER_TURNS.length)]);
+			}
+
+			// Never more than the turns made, and one turn changes it by at most 1
+			int distance = manhattan.distance(cube);
+			assertTrue(distance <= length);
+			for (int move : Side.QUARTER_TURNS) {
+				assertTrue(Math.abs(manhattan.distance(cube.turn(move)) - distance) <= 1);
+			}
+		}
+	}
+
+	@Test
+	public void testUpdateMatchesScore() {
+		CubletHeuristic[] heuristics = { new ManhattanHeuristic(), new MisplacedCubletsHeuristic() };
+		Random random = new Random(2);
+		for (int i = 0; i < NUM_SCRAMBLES; i++) {
+			Cube cube = new Cube();
+			for (int j = 0; j < MAX_SCRAMBLE_LENGTH; j++) {
+				cube = cube.turn(random.nextInt(Side.NUM_MOVES));
+			}
+
+			for (CubletHeuristic heuristic : heuristics) {
+				long score = heuristic.score(cube);
+				assertEquals(heuristic.distance(cube), heuristic.distanceOf(score));
+				for (int move = 0; move < Side.NUM_MOVES; move++) {
+					assertEquals(heuristic.score(cube.turn(move)), heuristic.update(score, cube, move));
+				}
+			}
+		}
+	}
+}
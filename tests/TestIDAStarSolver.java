@@ -0,0 +1,32 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestIDAStarSolver {
+
+	@Test
+	public void testSolved() {
+		IDAStarSolver solver = new IDAStarSolver(new Cube(), new ManhattanHeuristic());
+		assertEquals("", solver.getSolveAlgorithm());
+	}
+
+	@Test
+	public void testRU() {
+		Cube cubeAfterRU = new Cube("tests/cube_after_RU.txt");
+		IDAStarSolver solver = new IDAStarSolver(cubeAfterRU, new ManhattanHeuristic());
+		assertEquals("U',R'", solver.getSolveAlgorithm());
+	}
+
+	// IDA* is the reference the other solvers are checked against, so check that
+	// its solutions solve the cube and are never longer than the scramble
+	@Test
+	public void testScrambles() {
+		for (int depth = 7; depth <= 10; depth++) {
+			for (Cube cube : SolverChecks.randomScrambles(2016 + depth, depth, depth, 2)) {
+				IDAStarSolver solver = new IDAStarSolver(cube, new ManhattanHeuristic());
+				int length = SolverChecks.assertSolves(cube, solver.getSolveAlgorithm());
+				assertTrue("The solution should be no longer than the scramble", length <= depth);
+			}
+		}
+	}
+
+}
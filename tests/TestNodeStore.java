@@ -0,0 +1,84 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestNodeStore {
+
+	private Cube solved;
+
+	@Before
+	public void setUp() {
+		solved = new Cube();
+	}
+
+	@Test
+	public void testStartingNode() {
+		NodeStore nodes = new NodeStore();
+		int start = nodes.add(solved, NodeStore.NONE, NodeStore.NONE, 0, CanonicalMoves.START);
+		assertEquals(NodeStore.NONE, nodes.getParent(start));
+		assertEquals(0, nodes.getDepth(start));
+		assertEquals(0, nodes.path(start).length);
+		assertTrue(nodes.cube(start).isSolved());
+	}
+
+	@Test
+	public void testPathIsRetraced() {
+		NodeStore nodes = new NodeStore();
+		int[] moves = { Side.move(Side.FACE_R, Side.CLOCKWISE), Side.move(Side.FACE_U, Side.COUNTER_CLOCKWISE),
+			Side.move(Side.FACE_F, Side.CLOCKWISE) };
+
+		Cube cube = solved;
+		int node = nodes.add(cube, NodeStore.NONE, NodeStore.NONE, 0, CanonicalMoves.START);
+		int sibling = nodes.add(cube.turn(moves[2]), node, moves[2], 1, CanonicalMoves.START);
+		for (int move : moves) {
+			cube = cube.turn(move);
+			node = nodes.add(cube, node, move, 3, CanonicalMoves.START);
+		}
+
+		assertArrayEquals(moves, nodes.path(node));
+		assertEquals(3, nodes.getDepth(node));
+		assertEquals(3, nodes.getDistance(node));
+		assertTrue(nodes.cube(node).equals(cube));
+		assertEquals(1, nodes.path(sibling).length);
+	}
+
+	@Test
+	public void testGrowsPastCapacity() {
+		NodeStore nodes = new NodeStore(1);
+		int move = Side.move(Side.FACE_L, Side.CLOCKWISE);
+		Cube cube = solved;
+		int node = nodes.add(cube, NodeStore.NONE, NodeStore.NONE, 0, CanonicalMoves.START);
+		for (int i = 0; i < 100; i++) {
+			cube = cube.turn(move);
+			node = nodes.add(cube, node, move, 0, CanonicalMoves.START);
+		}
+		assertEquals(101, nodes.size());
+		assertEquals(100, nodes.path(node).length);
+		assertTrue(nodes.cube(node).equals(cube));
+	}
+
+	@Test
+	public void testScoresAreKept() {
+		NodeStore nodes = new NodeStore(1);
+		int move = Side.move(Side.FACE_B, Side.CLOCKWISE);
+		int start = nodes.add(solved, NodeStore.NONE, NodeStore.NONE, 0, CanonicalMoves.START);
+		long bytesWithoutScores = nodes.bytesAllocated();
+		int node = nodes.add(solved.turn(move), start, move, 1, CanonicalMoves.START, 1L << 40 | 7);
+		int next = nodes.add(solved.turn(move).turn(move), node, move, 2, CanonicalMoves.START, 12);
+
+		assertEquals(0, nodes.getScore(start));
+		assertEquals(1L << 40 | 7, nodes.getScore(node));
+		assertEquals(12, nodes.getScore(next));
+		assertTrue("Scores should take room once kept", nodes.bytesAllocated() > bytesWithoutScores);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMoveWithoutParent() {
+		NodeStore nodes = new NodeStore();
+		nodes.add(solved, NodeStore.NONE, Side.move(Side.FACE_R, Side.CLOCKWISE), 0, CanonicalMoves.START);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testUnknownNode() {
+		new NodeStore().path(0);
+	}
+}
@@ -0,0 +1,30 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestParallelIDAStarSolver {
+
+	@Test
+	public void testSolved() {
+		ParallelIDAStarSolver solver = new ParallelIDAStarSolver(new Cube(), new ManhattanHeuristic());
+		assertEquals("", solver.getSolveAlgorithm());
+	}
+
+	@Test
+	public void testScramblesOneThread() {
+		for (Cube cube : SolverChecks.SCRAMBLES) {
+			ParallelIDAStarSolver solver = new ParallelIDAStarSolver(cube, new ManhattanHeuristic(),
+				ParallelIDAStarSolver.DEFAULT_SPLIT_DEPTH, 1);
+			SolverChecks.assertSolvesOptimally(cube, solver.getSolveAlgorithm());
+		}
+	}
+
+	// More threads than subtrees at split depth 1, so threads race for the solution
+	@Test
+	public void testScramblesManyThreads() {
+		for (Cube cube : SolverChecks.SCRAMBLES) {
+			ParallelIDAStarSolver solver = new ParallelIDAStarSolver(cube, new ManhattanHeuristic(), 1, 16);
+			SolverChecks.assertSolvesOptimally(cube, solver.getSolveAlgorithm());
+		}
+	}
+
+}
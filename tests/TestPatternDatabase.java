@@ -0,0 +1,59 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.File;
+
+public class TestPatternDatabase {
+
+	private static final int N = 5;
+	private static final int N_FACTORIAL = 120;
+
+	@Test
+	public void testIdentityHasRankZero() {
+		assertEquals(0, Utilities.rankPermutation(new int[] { 0, 1, 2, 3, 4 }));
+	}
+
+	@Test
+	public void testReversedHasLastRank() {
+		assertEquals(N_FACTORIAL - 1, Utilities.rankPermutation(new int[] { 4, 3, 2, 1, 0 }));
+	}
+
+	@Test
+	public void testUnrankInvertsRank() {
+		// Every rank should unrank to a distinct permutation that ranks back to it
+		boolean[] seen = new boolean[N_FACTORIAL];
+		int[] permutation = new int[N];
+		for (int rank = 0; rank < N_FACTORIAL; rank++) {
+			Utilities.unrankPermutation(rank, permutation);
+			int rankAgain = Utilities.rankPermutation(permutation);
+			assertEquals(rank, rankAgain);
+			assertFalse(seen[rankAgain]);
+			seen[rankAgain] = true;
+		}
+	}
+
+	@Test
+	public void testSmallEdgeDatabase() throws Exception {
+		// A pattern of two edges is small enough to build in a test
+		int[] group = { 0, 1 };
+		File file = File.createTempFile("edges", ".pdb");
+		file.deleteOnExit();
+		EdgePatternDatabase built = EdgePatternDatabase.generate(group, file.getPath());
+		EdgePatternDatabase loaded = new EdgePatternDatabase(group, file.getPath());
+
+		Cube solved = new Cube();
+		Cube scrambled = solved.turnClockwise(Cube.B).turnClockwise(Cube.U).turnClockwise(Cube.L);
+		assertEquals(0, loaded.distance(solved));
+		assertEquals(1, loaded.distance(solved.turnClockwise(Cube.B)));
+		assertEquals(built.distance(scrambled), loaded.distance(scrambled));
+		assertTrue(loaded.distance(scrambled) <= 3);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLoadingWrongGroupFails() throws Exception {
+		File file = File.createTempFile("edges", ".pdb");
+		file.deleteOnExit();
+		EdgePatternDatabase.generate(new int[] { 0, 1 }, file.getPath());
+		new EdgePatternDatabase(new int[] { 2, 3 }, file.getPath());
+	}
+
+}
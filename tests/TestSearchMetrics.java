@@ -0,0 +1,56 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestSearchMetrics {
+
+	@Test
+	public void testCountsNodesAtEachDepth() {
+		SearchMetrics metrics = new SearchMetrics();
+		metrics.generated(0, 0);
+		metrics.expanded();
+		for (int i = 0; i < 12; i++) metrics.generated(1, i + 1);
+		metrics.expanded();
+		metrics.generated(2, 12);
+		metrics.duplicate();
+
+		assertEquals(14, metrics.getNodesGenerated());
+		assertEquals(2, metrics.getNodesExpanded());
+		assertEquals(1, metrics.getDuplicatesPruned());
+		assertEquals(12, metrics.getPeakOpenListSize());
+		assertArrayEquals(new long[] { 1, 12, 1 }, metrics.getNodesAtDepth());
+	}
+
+	@Test
+	public void testGrowsPastInitialDepths() {
+		SearchMetrics metrics = new SearchMetrics();
+		metrics.generated(100, 1);
+		assertEquals(101, metrics.getNodesAtDepth().length);
+		assertEquals(1, metrics.getNodesAtDepth()[100]);
+	}
+
+	@Test
+	public void testSolverFillsInMetrics() {
+		// Two turns from solved, searched breadth-first (A* with no distance), so
+		// every neighbor of the start is queued
+		Cube cube = new Cube("tests/cube_after_RU.txt");
+		SolverOptions options = new SolverOptions();
+		options.setSearchMode(SolverOptions.A_STAR);
+		DistanceHeuristic none = new DistanceHeuristic() {
+			public int distance(Cube cube) {
+				return 0;
+			}
+		};
+		SearchMetrics metrics = new CubeSolver(cube, none, options).getMetrics();
+
+		assertTrue(metrics.getNodesExpanded() >= 2);
+		assertEquals(1, metrics.getNodesAtDepth()[0]);
+		assertEquals(12, metrics.getNodesAtDepth()[1]);
+		assertEquals(metrics.getNodesGenerated(), sum(metrics.getNodesAtDepth()));
+	}
+
+	private static long sum(long[] counts) {
+		long sum = 0;
+		for (long count : counts) sum += count;
+		return sum;
+	}
+}
@@ -0,0 +1,74 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestSymmetry {
+
+	private Cube solved;
+	private Cube scrambled;
+
+	@Before
+	public void setUp() {
+		solved = new Cube();
+		scrambled = solved.turnClockwise(Cube.R).turnClockwise(Cube.U).turnCounterClockwise(Cube.F)
+			.turnClockwise(Cube.L).turnHalf(Cube.D).turnClockwise(Cube.B).turnCounterClockwise(Cube.U);
+	}
+
+	@Test
+	public void testSolvedIsSymmetric() {
+		for (int s = 0; s < Symmetry.NUM_SYMMETRIES; s++) {
+			assertTrue(Symmetry.conjugate(solved, s).isSolved());
+		}
+	}
+
+	@Test
+	public void testIdentity() {
+		assertTrue(Symmetry.conjugate(scrambled, Symmetry.IDENTITY).equals(scrambled));
+	}
+
+	@Test
+	public void testHalfAreReflections() {
+		int reflections = 0;
+		for (int s = 0; s < Symmetry.NUM_SYMMETRIES; s++) {
+			if (Symmetry.isReflection(s)) reflections++;
+		}
+		assertEquals(Symmetry.NUM_SYMMETRIES / 2, reflections);
+	}
+
+	@Test
+	public void testInverse() {
+		for (int s = 0; s < Symmetry.NUM_SYMMETRIES; s++) {
+			Cube conjugated = Symmetry.conjugate(scrambled, s);
+			assertTrue(Symmetry.conjugate(conjugated, Symmetry.inverse(s)).equals(scrambled));
+		}
+	}
+
+	@Test
+	public void testConjugationCommutesWithTurns() {
+		for (int s = 0; s < Symmetry.NUM_SYMMETRIES; s++) {
+			for (int move = 0; move < Side.NUM_MOVES; move++) {
+				Cube turnedThenConjugated = Symmetry.conjugate(scrambled.turn(move), s);
+				Cube conjugatedThenTurned = Symmetry.conjugate(scrambled, s).turn(Symmetry.conjugateMove(s, move));
+				assertTrue(turnedThenConjugated.equals(conjugatedThenTurned));
+			}
+		}
+	}
+
+	@Test
+	public void testReflectionsReverseTurns() {
+		int r = Side.move(Side.FACE_R, Side.CLOCKWISE);
+		for (int s = 0; s < Symmetry.NUM_SYMMETRIES; s++) {
+			int direction = Side.directionOf(Symmetry.conjugateMove(s, r));
+			int expected = Symmetry.isReflection(s) ? Side.COUNTER_CLOCKWISE : Side.CLOCKWISE;
+			assertEquals(expected, direction);
+		}
+	}
+
+	@Test
+	public void testSymmetricCubesShareRepresentative() {
+		Cube representative = Symmetry.representative(scrambled);
+		for (int s = 0; s < Symmetry.NUM_SYMMETRIES; s++) {
+			assertTrue(Symmetry.representative(Symmetry.conjugate(scrambled, s)).equals(representative));
+		}
+		assertTrue(!Symmetry.representative(scrambled.turnClockwise(Cube.F)).equals(representative));
+	}
+}
@@ -0,0 +1,91 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestTranspositionTable {
+
+	private static final int CAPACITY = 16;
+
+	private Cube solved;
+
+	@Before
+	public void setUp() {
+		solved = new Cube();
+	}
+
+	@Test
+	public void testNewStateIsVisited() {
+		TranspositionTable table = new TranspositionTable(CAPACITY, TranspositionTable.NEVER_REPLACE);
+		assertTrue(table.visit(solved.stateHash(), 0));
+		assertEquals(0, table.depth(solved.stateHash()));
+		assertEquals(1, table.size());
+	}
+
+	@Test
+	public void testDuplicateStateIsPruned() {
+		// Turning a side and turning it back reaches the starting state again
+		TranspositionTable table = new TranspositionTable(CAPACITY, TranspositionTable.NEVER_REPLACE);
+		table.visit(solved.stateHash(), 0);
+		Cube backAgain = solved.turnClockwise(Cube.R).turnCounterClockwise(Cube.R);
+		assertFalse(table.visit(backAgain.stateHash(), 2));
+	}
+
+	@Test
+	public void testShallowerStateIsRevisited() {
+		TranspositionTable table = new TranspositionTable(CAPACITY, TranspositionTable.NEVER_REPLACE);
+		long hash = solved.turnClockwise(Cube.U).stateHash();
+		table.visit(hash, 3);
+		assertTrue(table.visit(hash, 1));
+		assertEquals(1, table.depth(hash));
+	}
+
+	@Test
+	public void testDeepStatesAreNotSaturated() {
+		// Greedy solutions run to hundreds of turns; depths past 127 must not be
+		// confused with each other
+		TranspositionTable table = new TranspositionTable(CAPACITY, TranspositionTable.NEVER_REPLACE);
+		long hash = solved.turnClockwise(Cube.U).stateHash();
+		assertTrue(table.visit(hash, 300));
+		assertTrue(table.visit(hash, 200));
+		assertEquals(200, table.depth(hash));
+		assertFalse(table.visit(hash, 250));
+	}
+
+	@Test
+	public void testStatesTooDeepToRecordAreNeverPruned() {
+		TranspositionTable table = new TranspositionTable(CAPACITY, TranspositionTable.NEVER_REPLACE);
+		long hash = solved.turnClockwise(Cube.U).stateHash();
+		assertTrue(table.visit(hash, Short.MAX_VALUE + 1));
+		assertTrue(table.visit(hash, Short.MAX_VALUE + 1));
+		assertEquals(-1, table.depth(hash));
+	}
+
+	@Test
+	public void testDifferentStatesHaveDifferentHashes() {
+		assertTrue(solved.stateHash() != solved.turnClockwise(Cube.F).stateHash());
+		assertTrue(solved.turnClockwise(Cube.F).stateHash()
+			!= solved.turnCounterClockwise(Cube.F).stateHash());
+	}
+
+	@Test
+	public void testEvictionWhenFull() {
+		// Fill a tiny table with more states than it can hold
+		TranspositionTable table = new TranspositionTable(2, TranspositionTable.ALWAYS_REPLACE);
+		Cube cube = solved;
+		for (int i = 0; i < 8; i++) {
+			cube = cube.turnClockwise(Cube.L).turnClockwise(Cube.D);
+			table.visit(cube.stateHash(), i);
+		}
+		assertEquals(2, table.size());
+		assertTrue(table.evictions() > 0);
+	}
+
+	@Test
+	public void testNeverReplaceKeepsOldStates() {
+		TranspositionTable table = new TranspositionTable(1, TranspositionTable.NEVER_REPLACE);
+		long first = solved.stateHash();
+		table.visit(first, 0);
+		table.visit(solved.turnClockwise(Cube.B).stateHash(), 1);
+		assertEquals(0, table.depth(first));
+	}
+
+}
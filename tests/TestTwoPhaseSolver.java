@@ -0,0 +1,66 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestTwoPhaseSolver {
+
+	// Returns the number of face turns in the given algorithm, counting each run
+	// of quarter turns of the same side as one turn
+	private int faceTurns(String algorithm) {
+		int faceTurns = 0;
+		int lastFace = -1;
+		for (int move : Side.stringToMoves(algorithm)) {
+			if (Side.faceOf(move) != lastFace) faceTurns++;
+			lastFace = Side.faceOf(move);
+		}
+		return faceTurns;
+	}
+
+	@Test
+	public void testSolved() {
+		TwoPhaseSolver solver = new TwoPhaseSolver(new Cube());
+		assertEquals("", solver.getSolveAlgorithm());
+	}
+
+	// Half turns are written as two quarter turns, like the other solvers write them
+	@Test
+	public void testHalfTurns() {
+		Cube cube = new Cube().turn(Side.move(Side.FACE_R, Side.HALF));
+		TwoPhaseSolver solver = new TwoPhaseSolver(cube);
+		assertEquals("R,R", solver.getSolveAlgorithm());
+	}
+
+	// By default the first solution within the maximum length is kept, which on
+	// deep scrambles takes far less than the timeout
+	@Test
+	public void testFirstSolution() {
+		for (Cube cube : SolverChecks.randomScrambles(25, 25, 25, 4)) {
+			TwoPhaseSolver solver = new TwoPhaseSolver(cube);
+			SolverChecks.assertSolves(cube, solver.getSolveAlgorithm());
+			assertFalse("A solved cube should not be reported as timed out", solver.isTimedOut());
+			assertTrue("The solution should fit the maximum length",
+				faceTurns(solver.getSolveAlgorithm()) <= TwoPhaseSolver.DEFAULT_MAX_LENGTH);
+		}
+	}
+
+	// Shortening searches until no solution with fewer face turns is left, so the
+	// solution has no more face turns than an optimal one in quarter turns
+	@Test
+	public void testShortening() {
+		for (Cube cube : SolverChecks.SCRAMBLES) {
+			TwoPhaseSolver solver = new TwoPhaseSolver(cube, TwoPhaseSolver.DEFAULT_MAX_LENGTH,
+				TwoPhaseSolver.DEFAULT_TIMEOUT_MILLIS, TwoPhaseSolver.DEFAULT_TIMEOUT_MILLIS);
+			SolverChecks.assertSolvesWithin(cube, solver.getSolveAlgorithm(), 2.0);
+			assertTrue("The solution should be as short as the search could find",
+				faceTurns(solver.getSolveAlgorithm()) <= SolverChecks.optimalLength(cube));
+		}
+	}
+
+	// A cube that cannot be solved within the maximum length gets no solution
+	@Test
+	public void testMaxLengthTooShort() {
+		TwoPhaseSolver solver = new TwoPhaseSolver(SolverChecks.scramble("R,U,F'"), 2, 1000);
+		assertNull(solver.getSolveAlgorithm());
+		assertFalse(solver.isTimedOut());
+	}
+
+}